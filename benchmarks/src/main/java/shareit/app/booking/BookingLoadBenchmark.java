@@ -0,0 +1,206 @@
+package shareit.app.booking;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import shareit.app.ShareItServer;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный тест GET /bookings на платформенных и виртуальных потоках.
+ * Каждый клиент в цикле отправляет запрос и ждёт ответа, поэтому число клиентов
+ * равно числу запросов в обработке. Сервер запускается заново для каждого режима
+ * на одном встроенном PostgreSQL.
+ *
+ * <p>Параметры (системные свойства): {@code load.clients} — список через запятую,
+ * {@code load.duration} и {@code load.warmup} — секунды, {@code load.pool} — размер пула Hikari,
+ * {@code load.result} — CSV-файл с результатами. Режим виртуальных потоков требует Java 21+
+ * и на более старой JVM пропускается.
+ */
+public class BookingLoadBenchmark {
+
+    private static final int VIRTUAL_THREADS_JAVA = 21;
+
+    public static void main(String[] args) throws Exception {
+        int[] clients = Arrays.stream(System.getProperty("load.clients", "1000,10000").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim()))
+                .toArray();
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30));
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+        int pool = Integer.getInteger("load.pool", 50);
+        Path result = Path.of(System.getProperty("load.result", "target/load-result.csv"));
+
+        List<String> lines = new ArrayList<>();
+        lines.add("mode,clients,requests,errors,throughput_rps,p50_ms,p99_ms");
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start()) {
+            for (boolean virtual : new boolean[]{false, true}) {
+                if (virtual && Runtime.version().feature() < VIRTUAL_THREADS_JAVA) {
+                    System.out.println("Режим virtual пропущен: нужна Java " + VIRTUAL_THREADS_JAVA
+                            + "+, запущена " + Runtime.version());
+                    continue;
+                }
+                try (ConfigurableApplicationContext context = start(postgres, virtual, pool)) {
+                    JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+                    Long firstUser = jdbc.queryForObject("SELECT MIN(user_id) FROM users", Long.class);
+                    if (firstUser == null) {
+                        firstUser = BookingServiceBenchmark.populate(jdbc);
+                    }
+                    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                    for (int count : clients) {
+                        Load load = new Load(port, firstUser, count);
+                        load.run(warmup);
+                        Result measured = load.run(duration);
+                        String mode = virtual ? "virtual" : "platform";
+                        System.out.println(mode + ": " + measured);
+                        lines.add(mode + "," + count + "," + measured.csv());
+                    }
+                }
+            }
+        }
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(result))) {
+            lines.forEach(writer::println);
+        }
+        System.out.println("Результаты сохранены в " + result.toAbsolutePath());
+    }
+
+    private static ConfigurableApplicationContext start(EmbeddedPostgres postgres, boolean virtual, int pool) {
+        return new SpringApplication(ShareItServer.class).run(
+                "--server.port=0",
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=10000",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=" + pool,
+                "--shareit.request-log.enabled=false",
+                "--logging.level.root=warn",
+                "--logging.level.net.ttddyy.dsproxy.listener=warn",
+                "--logging.level.org.zalando.logbook=warn");
+    }
+
+    /**
+     * Замкнутая нагрузка: {@code clients} асинхронных циклов «запрос — ответ» на одном HttpClient.
+     */
+    private static class Load {
+
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        private final int port;
+        private final long firstUser;
+        private final int clients;
+
+        Load(int port, long firstUser, int clients) {
+            this.port = port;
+            this.firstUser = firstUser;
+            this.clients = clients;
+        }
+
+        Result run(Duration duration) throws Exception {
+            long deadline = System.nanoTime() + duration.toNanos();
+            List<Client> running = new ArrayList<>(clients);
+            List<CompletableFuture<Void>> done = new ArrayList<>(clients);
+            long started = System.nanoTime();
+            for (int i = 0; i < clients; i++) {
+                Client loop = new Client(request(firstUser + i % BookingServiceBenchmark.USERS), deadline);
+                running.add(loop);
+                done.add(loop.next());
+            }
+            CompletableFuture.allOf(done.toArray(CompletableFuture[]::new))
+                    .get(duration.toSeconds() + 120, TimeUnit.SECONDS);
+            long elapsed = System.nanoTime() - started;
+
+            long[] latencies = running.stream()
+                    .flatMapToLong(loop -> loop.latencies.stream().mapToLong(Long::longValue))
+                    .sorted()
+                    .toArray();
+            long errors = running.stream().mapToLong(loop -> loop.errors).sum();
+            return new Result(clients, latencies, errors, elapsed);
+        }
+
+        private HttpRequest request(long userId) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bookings?state=ALL&size=20"))
+                    .header("X-Sharer-User-Id", String.valueOf(userId))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+        }
+
+        private class Client {
+
+            private final HttpRequest request;
+            private final long deadline;
+            private final List<Long> latencies = new ArrayList<>();
+            private long errors;
+
+            Client(HttpRequest request, long deadline) {
+                this.request = request;
+                this.deadline = deadline;
+            }
+
+            CompletableFuture<Void> next() {
+                if (System.nanoTime() >= deadline) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                long start = System.nanoTime();
+                return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .handle((response, e) -> {
+                            if (e != null || response.statusCode() != 200) {
+                                errors++;
+                            } else {
+                                latencies.add(System.nanoTime() - start);
+                            }
+                            return null;
+                        })
+                        .thenCompose(ignored -> next());
+            }
+        }
+    }
+
+    private record Result(int clients, long[] latencies, long errors, long elapsedNanos) {
+
+        double throughput() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1e6;
+        }
+
+        String csv() {
+            return String.format(Locale.ROOT, "%d,%d,%.1f,%.2f,%.2f",
+                    latencies.length, errors, throughput(), percentile(0.5), percentile(0.99));
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%d клиентов: %d запросов, %d ошибок, %.1f запросов/с, p50 %.2f мс, p99 %.2f мс",
+                    clients, latencies.length, errors, throughput(), percentile(0.5), percentile(0.99));
+        }
+    }
+}
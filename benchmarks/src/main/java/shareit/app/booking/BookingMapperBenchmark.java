@@ -0,0 +1,54 @@
+package shareit.app.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import shareit.app.booking.dto.BookingDto;
+import shareit.app.item.Item;
+import shareit.app.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final BookingMapper mapper = new BookingMapper();
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        User owner = new User(1L, "owner", "owner@mail.com");
+        User booker = new User(2L, "booker", "booker@mail.com");
+        LocalDateTime now = LocalDateTime.now();
+        bookings = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Item item = new Item(i, "item " + i, "desc " + i, true, owner, null);
+            bookings.add(new Booking(i, now.plusDays(i), now.plusDays(i + 1), item, booker,
+                    owner.getId(), BookingStatus.APPROVED, null));
+        }
+    }
+
+    @Benchmark
+    public List<BookingDto> convertToDto() {
+        return mapper.convertToDto(bookings);
+    }
+}
@@ -0,0 +1,103 @@
+package shareit.app.booking;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import shareit.app.ShareItServer;
+import shareit.app.booking.dto.BookingShortDto;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеряет получение бронирований пользователя через сервисный слой
+ * на встроенном PostgreSQL, заполненном 1 000 пользователей, 5 000 вещей
+ * и 100 000 бронирований.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    static final int USERS = 1_000;
+    private static final int ITEMS = 5_000;
+    private static final int BOOKINGS = 100_000;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING"})
+    private String state;
+
+    @Param({"20"})
+    private int size;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private Long bookerId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        SpringApplication application = new SpringApplication(ShareItServer.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--logging.level.root=warn",
+                "--logging.level.net.ttddyy.dsproxy.listener=warn",
+                "--logging.level.org.zalando.logbook=warn");
+        bookingService = context.getBean(BookingService.class);
+        bookerId = populate(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<BookingShortDto> getByUserAndState() {
+        return bookingService.getByUserAndState(bookerId, state, 0, size);
+    }
+
+    /**
+     * Заполняет пустую схему и возвращает id первого пользователя.
+     */
+    static Long populate(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO users (name, email) " +
+                "SELECT 'user ' || n, 'user' || n || '@mail.com' FROM generate_series(1, ?) n", USERS);
+        Long firstUser = jdbc.queryForObject("SELECT MIN(user_id) FROM users", Long.class);
+        jdbc.update("INSERT INTO items (name, description, is_available, owner_id) " +
+                "SELECT 'item ' || n, 'desc ' || n, true, ? + n % ? FROM generate_series(1, ?) n",
+                firstUser, USERS, ITEMS);
+        Long firstItem = jdbc.queryForObject("SELECT MIN(item_id) FROM items", Long.class);
+        jdbc.queryForList("SELECT bookings_create_partitions(CAST(now() - INTERVAL '7 months' AS DATE), " +
+                "CAST(now() + INTERVAL '7 months' AS DATE))", String.class);
+        jdbc.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT now() + (n % 365 - 180) * INTERVAL '1 day', now() + (n % 365 - 178) * INTERVAL '1 day', " +
+                "? + n % ?, ? + n % ?, (ARRAY['WAITING', 'APPROVED', 'REJECTED', 'CANCELED'])[n % 4 + 1] " +
+                "FROM generate_series(1, ?) n", firstItem, ITEMS, firstUser, USERS, BOOKINGS);
+        jdbc.execute("ANALYZE");
+        return firstUser;
+    }
+}
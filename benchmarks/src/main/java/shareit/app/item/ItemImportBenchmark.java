@@ -0,0 +1,99 @@
+package shareit.app.item;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import shareit.app.ShareItServer;
+import shareit.app.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Замеряет добавление 5 000 предметов одного владельца на встроенном PostgreSQL.
+ * Результат — строк в секунду: по одному {@code ItemService.add} на предмет ({@code single}),
+ * {@code ItemService.addAll} пакетами JDBC ({@code batch}) и через {@code COPY} ({@code copy}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemImportBenchmark {
+
+    private static final int ROWS = 5_000;
+
+    @Param({"single", "batch", "copy"})
+    private String mode;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private JdbcTemplate jdbc;
+    private Long ownerId;
+    private List<ItemDto> items;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        SpringApplication application = new SpringApplication(ShareItServer.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--shareit.items.import.copy-threshold=" + ("copy".equals(mode) ? 0 : Integer.MAX_VALUE),
+                "--logging.level.root=warn",
+                "--logging.level.net.ttddyy.dsproxy.listener=warn",
+                "--logging.level.org.zalando.logbook=warn");
+        itemService = context.getBean(ItemService.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        ownerId = jdbc.queryForObject("INSERT INTO users (name, email) VALUES ('owner', 'owner@mail.com') " +
+                "RETURNING user_id", Long.class);
+        items = IntStream.range(0, ROWS)
+                .mapToObj(n -> new ItemDto(null, "item " + n, "description of item " + n, n % 2 == 0, null))
+                .collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Iteration)
+    public void clean() {
+        jdbc.execute("DELETE FROM items");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void add(Blackhole blackhole) {
+        if ("single".equals(mode)) {
+            items.forEach(item -> blackhole.consume(itemService.add(ownerId, item)));
+        } else {
+            blackhole.consume(itemService.addAll(ownerId, items.stream()));
+        }
+    }
+}
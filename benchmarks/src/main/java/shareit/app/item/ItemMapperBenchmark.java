@@ -0,0 +1,59 @@
+package shareit.app.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import shareit.app.item.dto.ItemDto;
+import shareit.app.item.dto.OwnerItemDto;
+import shareit.app.requests.ItemRequest;
+import shareit.app.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final ItemMapper itemMapper = new ItemMapper();
+    private final OwnerItemMapper ownerItemMapper = new OwnerItemMapper();
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        User owner = new User(1L, "owner", "owner@mail.com");
+        User requester = new User(2L, "requester", "requester@mail.com");
+        ItemRequest request = new ItemRequest(1L, "request", requester, LocalDateTime.now());
+        items = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            items.add(new Item(i, "item " + i, "desc " + i, true, owner, i % 2 == 0 ? request : null));
+        }
+    }
+
+    @Benchmark
+    public List<ItemDto> itemToDto() {
+        return itemMapper.convertToDto(items);
+    }
+
+    @Benchmark
+    public List<OwnerItemDto> ownerItemToDto() {
+        return ownerItemMapper.convertToDto(items);
+    }
+}
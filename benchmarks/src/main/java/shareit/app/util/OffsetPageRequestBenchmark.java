@@ -0,0 +1,37 @@
+package shareit.app.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffsetPageRequestBenchmark {
+
+    private int from = 20;
+    private int size = 10;
+
+    @Benchmark
+    public Pageable construct() {
+        return new OffsetPageRequest(from, size, Sort.by(Sort.Direction.DESC, "end"));
+    }
+
+    @Benchmark
+    public Pageable constructUnsorted() {
+        return new OffsetPageRequest(from, size, Sort.unsorted());
+    }
+}
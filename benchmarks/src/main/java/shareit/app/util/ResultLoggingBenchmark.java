@@ -0,0 +1,72 @@
+package shareit.app.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.MessageFormatter;
+import shareit.app.booking.Booking;
+import shareit.app.booking.BookingMapper;
+import shareit.app.booking.BookingStatus;
+import shareit.app.booking.dto.BookingDto;
+import shareit.app.item.Item;
+import shareit.app.requests.ItemRequest;
+import shareit.app.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Форматирует строку лога списка бронирований так, как это делает включённый INFO-логгер: с целым списком
+ * и с {@link LogIds}. Запускать с {@code -prof gc}, чтобы сравнить аллокации на операцию.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultLoggingBenchmark {
+
+    private static final String FULL_LIST = "Получен список бронирований {} для пользователя {}";
+    private static final String IDS = "Получены бронирования {} для пользователя {}";
+
+    @Param({"20", "100"})
+    private int size;
+
+    private List<BookingDto> bookings;
+
+    @Setup
+    public void setUp() {
+        User owner = new User(1L, "owner", "owner@mail.com");
+        User booker = new User(2L, "booker", "booker@mail.com");
+        ItemRequest request = new ItemRequest(1L, "request", booker, LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> entities = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Item item = new Item(i, "item " + i, "desc " + i, true, owner, request);
+            entities.add(new Booking(i, now.plusDays(i), now.plusDays(i + 1), item, booker,
+                    owner.getId(), BookingStatus.APPROVED, null));
+        }
+        bookings = new BookingMapper().convertToDto(entities);
+    }
+
+    @Benchmark
+    public String fullList() {
+        return MessageFormatter.format(FULL_LIST, bookings, 2L).getMessage();
+    }
+
+    @Benchmark
+    public String ids() {
+        return MessageFormatter.format(IDS, LogIds.of(bookings, BookingDto::getId), 2L).getMessage();
+    }
+}
@@ -3,10 +3,14 @@ package shareit.app.booking;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import shareit.app.booking.dto.BookingDto;
+import shareit.app.booking.dto.BookingShortDto;
+import shareit.app.util.NextCursor;
 
 import java.util.List;
 
@@ -16,8 +20,8 @@ public class BookingClient {
     private final WebClient client;
     private final String sharerHeader = "X-Sharer-User-Id";
 
-    public BookingClient(@Value("${share-it-server.url}/bookings") String url) {
-        client = WebClient.builder()
+    public BookingClient(WebClient.Builder builder, @Value("${share-it-server.url}/bookings") String url) {
+        client = builder
                 .baseUrl(url)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
@@ -52,7 +56,7 @@ public class BookingClient {
                 .bodyToMono(BookingDto.class);
     }
 
-    public Mono<List<BookingDto>> getByUserAndState(Long userId, String state, Integer from, Integer size) {
+    public Mono<List<BookingShortDto>> getByUserAndState(Long userId, String state, Integer from, Integer size) {
         return client.get()
                 .uri(uriBuilder -> uriBuilder
                         .queryParam("state", state)
@@ -61,11 +65,11 @@ public class BookingClient {
                         .build())
                 .header(sharerHeader, String.valueOf(userId))
                 .retrieve()
-                .bodyToFlux(BookingDto.class)
+                .bodyToFlux(BookingShortDto.class)
                 .collectList();
     }
 
-    public Mono<List<BookingDto>> getByOwnerAndState(Long userId, String state, Integer from, Integer size) {
+    public Mono<List<BookingShortDto>> getByOwnerAndState(Long userId, String state, Integer from, Integer size) {
         return client.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/owner")
@@ -75,7 +79,63 @@ public class BookingClient {
                         .build())
                 .header(sharerHeader, String.valueOf(userId))
                 .retrieve()
-                .bodyToFlux(BookingDto.class)
+                .bodyToFlux(BookingShortDto.class)
                 .collectList();
     }
+
+    public Flux<BookingShortDto> streamByUserAndState(Long userId, String state, Integer from, Integer size) {
+        return client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .queryParam("state", state)
+                        .queryParam("from", from)
+                        .queryParam("size", size)
+                        .build())
+                .header(sharerHeader, String.valueOf(userId))
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(BookingShortDto.class);
+    }
+
+    public Flux<BookingShortDto> streamByOwnerAndState(Long userId, String state, Integer from, Integer size) {
+        return client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/owner")
+                        .queryParam("state", state)
+                        .queryParam("from", from)
+                        .queryParam("size", size)
+                        .build())
+                .header(sharerHeader, String.valueOf(userId))
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(BookingShortDto.class);
+    }
+
+    public Mono<ResponseEntity<List<BookingShortDto>>> getByUserAndStateAfter(Long userId, String state, String cursor,
+                                                                              Integer size) {
+        return client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .queryParam("state", state)
+                        .queryParam("cursor", cursor)
+                        .queryParam("size", size)
+                        .build())
+                .header(sharerHeader, String.valueOf(userId))
+                .retrieve()
+                .toEntityList(BookingShortDto.class)
+                .map(NextCursor::withNextCursor);
+    }
+
+    public Mono<ResponseEntity<List<BookingShortDto>>> getByOwnerAndStateAfter(Long userId, String state, String cursor,
+                                                                               Integer size) {
+        return client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/owner")
+                        .queryParam("state", state)
+                        .queryParam("cursor", cursor)
+                        .queryParam("size", size)
+                        .build())
+                .header(sharerHeader, String.valueOf(userId))
+                .retrieve()
+                .toEntityList(BookingShortDto.class)
+                .map(NextCursor::withNextCursor);
+    }
 }
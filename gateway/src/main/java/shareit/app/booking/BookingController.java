@@ -4,10 +4,14 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import shareit.app.booking.dto.BookingDto;
+import shareit.app.booking.dto.BookingShortDto;
 
 import java.util.List;
 
@@ -39,22 +43,49 @@ public class BookingController {
     }
 
     @GetMapping
-    public Mono<List<BookingDto>> getByUserAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                    @RequestParam(value = "state", defaultValue = "ALL") String state,
-                                                    @RequestParam(value = "from", defaultValue = "0")
-                                                    @PositiveOrZero Integer from,
-                                                    @RequestParam(value = "size", defaultValue = "200")
-                                                    @Positive Integer size) {
-        return client.getByUserAndState(userId, state, from, size);
+    public Mono<ResponseEntity<List<BookingShortDto>>> getByUserAndState(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "state", defaultValue = "ALL") String state,
+            @RequestParam(value = "from", defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(value = "size", defaultValue = "200") @Positive Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            return client.getByUserAndStateAfter(userId, state, cursor, size);
+        }
+        return client.getByUserAndState(userId, state, from, size).map(ResponseEntity::ok);
     }
 
     @GetMapping("/owner")
-    public Mono<List<BookingDto>> getByOwnerAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                     @RequestParam(value = "state", defaultValue = "ALL") String state,
-                                                     @RequestParam(value = "from", defaultValue = "0")
-                                                     @PositiveOrZero Integer from,
-                                                     @RequestParam(value = "size", defaultValue = "200")
-                                                     @Positive Integer size) {
-        return client.getByOwnerAndState(userId, state, from, size);
+    public Mono<ResponseEntity<List<BookingShortDto>>> getByOwnerAndState(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "state", defaultValue = "ALL") String state,
+            @RequestParam(value = "from", defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(value = "size", defaultValue = "200") @Positive Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            return client.getByOwnerAndStateAfter(userId, state, cursor, size);
+        }
+        return client.getByOwnerAndState(userId, state, from, size).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookingShortDto> streamByUserAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @RequestParam(value = "state", defaultValue = "ALL") String state,
+                                                      @RequestParam(value = "from", defaultValue = "0")
+                                                      @PositiveOrZero Integer from,
+                                                      @RequestParam(value = "size", defaultValue = "200")
+                                                      @Positive Integer size) {
+        return client.streamByUserAndState(userId, state, from, size);
+    }
+
+    @GetMapping(path = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookingShortDto> streamByOwnerAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @RequestParam(value = "state", defaultValue = "ALL")
+                                                       String state,
+                                                       @RequestParam(value = "from", defaultValue = "0")
+                                                       @PositiveOrZero Integer from,
+                                                       @RequestParam(value = "size", defaultValue = "200")
+                                                       @Positive Integer size) {
+        return client.streamByOwnerAndState(userId, state, from, size);
     }
 }
@@ -0,0 +1,29 @@
+package shareit.app.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+import shareit.app.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BookingShortDto {
+
+    private Long id;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime start;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime end;
+
+    private BookingStatus status;
+    private Long itemId;
+    private String itemName;
+    private Long bookerId;
+
+}
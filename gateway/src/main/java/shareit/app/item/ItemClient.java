@@ -1,14 +1,18 @@
 package shareit.app.item;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import shareit.app.item.dto.CommentDto;
 import shareit.app.item.dto.ItemDto;
 import shareit.app.item.dto.OwnerItemDto;
+import shareit.app.util.NextCursor;
 
 import java.util.List;
 
@@ -18,8 +22,8 @@ public class ItemClient {
     private final WebClient client;
     private final String sharerHeader = "X-Sharer-User-Id";
 
-    public ItemClient(@Value("${share-it-server.url}/items") String url) {
-        client = WebClient.builder()
+    public ItemClient(WebClient.Builder builder, @Value("${share-it-server.url}/items") String url) {
+        client = builder
                 .baseUrl(url)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
@@ -33,6 +37,22 @@ public class ItemClient {
                 .bodyToMono(ItemDto.class);
     }
 
+    /**
+     * Отправляет предметы на сервер как NDJSON, пока они ещё читаются и проверяются.
+     */
+    public Mono<List<Long>> addAll(Long userId, Flux<ItemDto> items) {
+        return client.post()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/batch")
+                        .build())
+                .header(sharerHeader, String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(items, ItemDto.class)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<Long>>() {
+                });
+    }
+
     public Mono<ItemDto> update(Long itemId, Long userId, ItemDto itemDto) {
         return client.patch()
                 .uri(uriBuilder -> uriBuilder
@@ -66,6 +86,18 @@ public class ItemClient {
                 .collectList();
     }
 
+    public Mono<ResponseEntity<List<OwnerItemDto>>> getByOwnerAfter(Long userId, String cursor, Integer size) {
+        return client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .queryParam("cursor", cursor)
+                        .queryParam("size", size)
+                        .build())
+                .header(sharerHeader, String.valueOf(userId))
+                .retrieve()
+                .toEntityList(OwnerItemDto.class)
+                .map(NextCursor::withNextCursor);
+    }
+
     public Mono<List<ItemDto>> searchByText(Long userId, String text, Integer from, Integer size) {
         return client.get()
                 .uri(uriBuilder -> uriBuilder
@@ -80,6 +112,32 @@ public class ItemClient {
                 .collectList();
     }
 
+    public Flux<OwnerItemDto> streamByOwner(Long userId, Integer from, Integer size) {
+        return client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .queryParam("from", from)
+                        .queryParam("size", size)
+                        .build())
+                .header(sharerHeader, String.valueOf(userId))
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(OwnerItemDto.class);
+    }
+
+    public Flux<ItemDto> streamByText(Long userId, String text, Integer from, Integer size) {
+        return client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/search")
+                        .queryParam("text", text)
+                        .queryParam("from", from)
+                        .queryParam("size", size)
+                        .build())
+                .header(sharerHeader, String.valueOf(userId))
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(ItemDto.class);
+    }
+
     public Mono<CommentDto> addComment(Long itemId, Long userId, CommentDto commentDto) {
         return client.post()
                 .uri(uriBuilder -> uriBuilder
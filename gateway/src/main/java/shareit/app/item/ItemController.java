@@ -4,8 +4,11 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import shareit.app.item.dto.CommentDto;
 import shareit.app.item.dto.ItemDto;
@@ -26,6 +29,12 @@ public class ItemController {
         return client.add(userId, itemDto);
     }
 
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<List<Long>> addAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                   @Valid @RequestBody Flux<ItemDto> items) {
+        return client.addAll(userId, items);
+    }
+
     @PatchMapping("/{itemId}")
     public Mono<ItemDto> update(@PathVariable Long itemId, @RequestHeader("X-Sharer-User-Id") Long ownerId,
                                 @RequestBody ItemDto itemDto) {
@@ -38,12 +47,17 @@ public class ItemController {
     }
 
     @GetMapping
-    public Mono<List<OwnerItemDto>> getByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                               @RequestParam(value = "from", defaultValue = "0")
-                                               @PositiveOrZero Integer from,
-                                               @RequestParam(value = "size", defaultValue = "200")
-                                               @Positive Integer size) {
-        return client.getByOwner(ownerId, from, size);
+    public Mono<ResponseEntity<List<OwnerItemDto>>> getByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                               @RequestParam(value = "from", defaultValue = "0")
+                                                               @PositiveOrZero Integer from,
+                                                               @RequestParam(value = "size", defaultValue = "200")
+                                                               @Positive Integer size,
+                                                               @RequestParam(value = "cursor", required = false)
+                                                               String cursor) {
+        if (cursor != null) {
+            return client.getByOwnerAfter(ownerId, cursor, size);
+        }
+        return client.getByOwner(ownerId, from, size).map(ResponseEntity::ok);
     }
 
     @GetMapping("/search")
@@ -56,6 +70,25 @@ public class ItemController {
         return client.searchByText(userId, text, from, size);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OwnerItemDto> streamByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                            @RequestParam(value = "from", defaultValue = "0")
+                                            @PositiveOrZero Integer from,
+                                            @RequestParam(value = "size", defaultValue = "200")
+                                            @Positive Integer size) {
+        return client.streamByOwner(ownerId, from, size);
+    }
+
+    @GetMapping(path = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ItemDto> streamByText(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                      @RequestParam(required = false) String text,
+                                      @RequestParam(value = "from", defaultValue = "0")
+                                      @PositiveOrZero Integer from,
+                                      @RequestParam(value = "size", defaultValue = "200")
+                                      @Positive Integer size) {
+        return client.streamByText(userId, text, from, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public Mono<CommentDto> addComment(@PathVariable Long itemId,
                                        @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -3,10 +3,13 @@ package shareit.app.requests;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import shareit.app.requests.dto.ItemRequestDto;
+import shareit.app.util.NextCursor;
 
 import java.util.List;
 
@@ -16,8 +19,8 @@ public class ItemRequestClient {
     private final WebClient client;
     private final String sharerHeader = "X-Sharer-User-Id";
 
-    public ItemRequestClient(@Value("${share-it-server.url}/requests") String url) {
-        client = WebClient.builder()
+    public ItemRequestClient(WebClient.Builder builder, @Value("${share-it-server.url}/requests") String url) {
+        client = builder
                 .baseUrl(url)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
@@ -52,6 +55,33 @@ public class ItemRequestClient {
                 .collectList();
     }
 
+    public Flux<ItemRequestDto> streamAllExceptRequester(Long requesterId, Integer from, Integer size) {
+        return client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/all")
+                        .queryParam("from", from)
+                        .queryParam("size", size)
+                        .build())
+                .header(sharerHeader, String.valueOf(requesterId))
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(ItemRequestDto.class);
+    }
+
+    public Mono<ResponseEntity<List<ItemRequestDto>>> getAllExceptRequesterAfter(Long requesterId, String cursor,
+                                                                                 Integer size) {
+        return client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/all")
+                        .queryParam("cursor", cursor)
+                        .queryParam("size", size)
+                        .build())
+                .header(sharerHeader, String.valueOf(requesterId))
+                .retrieve()
+                .toEntityList(ItemRequestDto.class)
+                .map(NextCursor::withNextCursor);
+    }
+
     public Mono<ItemRequestDto> getById(Long userId, Long requestId) {
         return client.get()
                 .uri(uriBuilder -> uriBuilder
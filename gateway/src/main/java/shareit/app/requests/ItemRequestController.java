@@ -4,8 +4,11 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import shareit.app.requests.dto.ItemRequestDto;
 
@@ -31,12 +34,30 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public Mono<List<ItemRequestDto>> getAllExceptRequester(@RequestHeader("X-Sharer-User-Id") Long requesterId,
-                                                            @RequestParam(value = "from", defaultValue = "0")
-                                                            @PositiveOrZero Integer from,
-                                                            @RequestParam(value = "size", defaultValue = "200")
-                                                            @Positive Integer size) {
-        return client.getAllExceptRequester(requesterId, from, size);
+    public Mono<ResponseEntity<List<ItemRequestDto>>> getAllExceptRequester(@RequestHeader("X-Sharer-User-Id")
+                                                                            Long requesterId,
+                                                                            @RequestParam(value = "from",
+                                                                                    defaultValue = "0")
+                                                                            @PositiveOrZero Integer from,
+                                                                            @RequestParam(value = "size",
+                                                                                    defaultValue = "200")
+                                                                            @Positive Integer size,
+                                                                            @RequestParam(value = "cursor",
+                                                                                    required = false)
+                                                                            String cursor) {
+        if (cursor != null) {
+            return client.getAllExceptRequesterAfter(requesterId, cursor, size);
+        }
+        return client.getAllExceptRequester(requesterId, from, size).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ItemRequestDto> streamAllExceptRequester(@RequestHeader("X-Sharer-User-Id") Long requesterId,
+                                                         @RequestParam(value = "from", defaultValue = "0")
+                                                         @PositiveOrZero Integer from,
+                                                         @RequestParam(value = "size", defaultValue = "200")
+                                                         @Positive Integer size) {
+        return client.streamAllExceptRequester(requesterId, from, size);
     }
 
     @GetMapping("/{requestId}")
@@ -15,8 +15,8 @@ public class UserClient {
 
     private final WebClient client;
 
-    public UserClient(@Value("${share-it-server.url}/users") String url) {
-        client = WebClient.builder()
+    public UserClient(WebClient.Builder builder, @Value("${share-it-server.url}/users") String url) {
+        client = builder
                 .baseUrl(url)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
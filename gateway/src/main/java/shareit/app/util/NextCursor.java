@@ -0,0 +1,26 @@
+package shareit.app.util;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+
+/**
+ * Заголовок с токеном следующей страницы keyset-пагинации, который сервер отдаёт вместе со списком.
+ */
+public final class NextCursor {
+
+    public static final String HEADER = "X-Next-Cursor";
+
+    private NextCursor() {
+    }
+
+    /**
+     * Ответ сервера без его служебных заголовков: только тело и {@link #HEADER}, если он есть.
+     */
+    public static <T> ResponseEntity<T> withNextCursor(ResponseEntity<T> response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        Optional.ofNullable(response.getHeaders().getFirst(HEADER))
+                .ifPresent(cursor -> builder.header(HEADER, cursor));
+        return builder.body(response.getBody());
+    }
+}
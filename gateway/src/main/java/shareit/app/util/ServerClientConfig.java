@@ -0,0 +1,61 @@
+package shareit.app.util;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Один пул соединений для всех клиентов сервера. Коннектор подхватывает автоконфигурированный
+ * {@code WebClient.Builder}, поэтому все клиенты, собранные из него, делят пул.
+ * Показатели пула публикуются как {@code reactor.netty.connection.provider.*}.
+ * Одинаковые одновременные GET объединяет {@link SingleFlightFilter}. Вызовы замеряются как
+ * {@code http.client.requests} с тегами из {@link ServerClientObservationConvention}.
+ */
+@Configuration
+@EnableConfigurationProperties(ServerClientProperties.class)
+public class ServerClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(ServerClientProperties properties) {
+        return ConnectionProvider.builder("share-it-server")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector serverHttpConnector(ConnectionProvider serverConnectionProvider,
+                                                   ServerClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .protocol(properties.getProtocols().toArray(HttpProtocol[]::new))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout())
+                .keepAlive(true);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    public ServerClientObservationConvention serverClientObservationConvention() {
+        return new ServerClientObservationConvention();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "share-it-server.client", name = "single-flight", matchIfMissing = true)
+    public WebClientCustomizer singleFlightCustomizer() {
+        SingleFlightFilter filter = new SingleFlightFilter();
+        return builder -> builder.filter(filter);
+    }
+}
@@ -0,0 +1,32 @@
+package shareit.app.util;
+
+import io.micrometer.common.KeyValue;
+import org.springframework.web.reactive.function.client.ClientHttpObservationDocumentation.LowCardinalityKeyNames;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientRequestObservationContext;
+import org.springframework.web.reactive.function.client.DefaultClientRequestObservationConvention;
+
+import java.util.regex.Pattern;
+
+/**
+ * Клиенты собирают URI функциями {@code uriBuilder}, и без шаблона WebClient помечает все таймеры
+ * {@code http.client.requests} как {@code uri="none"}. Здесь вместо шаблона берётся путь с числовыми
+ * сегментами, заменёнными на {@code {id}}, без строки запроса: {@code /bookings/42} — {@code /bookings/{id}}.
+ */
+public class ServerClientObservationConvention extends DefaultClientRequestObservationConvention {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    @Override
+    protected KeyValue uri(ClientRequestObservationContext context) {
+        ClientRequest request = context.getRequest();
+        if (context.getUriTemplate() != null || request == null) {
+            return super.uri(context);
+        }
+        String path = request.url().getRawPath();
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        }
+        return KeyValue.of(LowCardinalityKeyNames.URI.asString(), ID_SEGMENT.matcher(path).replaceAll("/{id}"));
+    }
+}
@@ -0,0 +1,50 @@
+package shareit.app.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Настройки пула соединений, общего для всех клиентов сервера.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "share-it-server.client")
+public class ServerClientProperties {
+
+    private int maxConnections = 500;
+
+    /**
+     * Сколько запросов может ждать свободного соединения; сверх этого они сразу завершаются ошибкой.
+     */
+    private int pendingAcquireMaxCount = 1000;
+
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration responseTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Должно быть короче keep-alive таймаута сервера, иначе пул выдаёт соединения, которые сервер уже закрыл.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(15);
+
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    /**
+     * {@code HTTP11}, {@code H2C} (HTTP/2 без согласования) или оба, тогда HTTP/1.1 повышается до h2c.
+     */
+    private List<HttpProtocol> protocols = List.of(HttpProtocol.HTTP11);
+
+    /**
+     * Один вызов сервера на одновременные одинаковые GET, см. {@link SingleFlightFilter}.
+     */
+    private boolean singleFlight = true;
+}
@@ -0,0 +1,64 @@
+package shareit.app.util;
+
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Объединяет одновременные одинаковые GET: запросы с тем же URL и {@code X-Sharer-User-Id}, пришедшие,
+ * пока такой же выполняется, получают его ответ, а не обращаются к серверу снова. Запись удаляется сразу
+ * после чтения ответа, так что после завершения ничего не отдаётся повторно. Тело буферизуется, и каждый
+ * получает свою копию; потоки NDJSON фильтр пропускает без изменений.
+ */
+public class SingleFlightFilter implements ExchangeFilterFunction {
+
+    private static final String SHARER_HEADER = "X-Sharer-User-Id";
+
+    private final ConcurrentMap<String, Mono<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!HttpMethod.GET.equals(request.method())
+                || request.headers().getAccept().contains(MediaType.APPLICATION_NDJSON)) {
+            return next.exchange(request);
+        }
+        String key = request.url() + " " + request.headers().getFirst(SHARER_HEADER);
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> start(k, next.exchange(request))))
+                .map(BufferedResponse::copy);
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private Mono<BufferedResponse> start(String key, Mono<ClientResponse> exchange) {
+        AtomicReference<Mono<BufferedResponse>> self = new AtomicReference<>();
+        Mono<BufferedResponse> shared = exchange
+                .flatMap(response -> response.bodyToMono(byte[].class)
+                        .defaultIfEmpty(new byte[0])
+                        .map(body -> new BufferedResponse(response, body)))
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .share();
+        self.set(shared);
+        return shared;
+    }
+
+    private record BufferedResponse(ClientResponse response, byte[] body) {
+
+        ClientResponse copy() {
+            return response.mutate()
+                    .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))
+                    .build();
+        }
+    }
+}
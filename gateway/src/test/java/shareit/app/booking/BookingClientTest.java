@@ -4,13 +4,16 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
 import reactor.test.StepVerifier;
 import shareit.app.booking.dto.BookingDto;
+import shareit.app.booking.dto.BookingShortDto;
 
 import java.io.IOException;
 import java.util.List;
@@ -27,7 +30,7 @@ public class BookingClientTest {
     void setup() throws IOException {
         server = new MockWebServer();
         server.start();
-        client = new BookingClient(server.url("/").toString());
+        client = new BookingClient(WebClient.builder(), server.url("/").toString());
     }
 
     @AfterEach
@@ -79,10 +82,8 @@ public class BookingClientTest {
 
     @Test
     void getByUserAndState() throws JsonProcessingException {
-        BookingDto dto1 = new BookingDto(1L, null, null, null, 1L, null, 1L,
-                BookingStatus.WAITING);
-        BookingDto dto2 = new BookingDto(2L, null, null, null, 1L, null, 1L,
-                BookingStatus.REJECTED);
+        BookingShortDto dto1 = new BookingShortDto(1L, null, null, BookingStatus.WAITING, 1L, "item", 1L);
+        BookingShortDto dto2 = new BookingShortDto(2L, null, null, BookingStatus.REJECTED, 1L, "item", 1L);
 
         server.enqueue(new MockResponse()
                 .setResponseCode(200)
@@ -94,6 +95,7 @@ public class BookingClientTest {
                     assertEquals(2, result.size());
                     assertEquals(dto1.getId(), result.get(0).getId());
                     assertEquals(dto1.getStatus(), result.get(0).getStatus());
+                    assertEquals(dto1.getItemName(), result.get(0).getItemName());
                     assertEquals(dto2.getId(), result.get(1).getId());
                     assertEquals(dto2.getStatus(), result.get(1).getStatus());
                 })
@@ -102,10 +104,8 @@ public class BookingClientTest {
 
     @Test
     void getByOwnerAndState() throws JsonProcessingException {
-        BookingDto dto1 = new BookingDto(1L, null, null, null, 1L, null, 1L,
-                BookingStatus.WAITING);
-        BookingDto dto2 = new BookingDto(2L, null, null, null, 1L, null, 1L,
-                BookingStatus.REJECTED);
+        BookingShortDto dto1 = new BookingShortDto(1L, null, null, BookingStatus.WAITING, 1L, "item", 1L);
+        BookingShortDto dto2 = new BookingShortDto(2L, null, null, BookingStatus.REJECTED, 1L, "item", 1L);
 
         server.enqueue(new MockResponse()
                 .setResponseCode(200)
@@ -123,10 +123,67 @@ public class BookingClientTest {
                 .verifyComplete();
     }
 
+    @Test
+    void streamByUserAndState() throws JsonProcessingException, InterruptedException {
+        BookingShortDto dto1 = new BookingShortDto(1L, null, null, BookingStatus.WAITING, 1L, "item", 1L);
+        BookingShortDto dto2 = new BookingShortDto(2L, null, null, BookingStatus.REJECTED, 1L, "item", 1L);
+        enqueueStream(dto1, dto2);
+
+        StepVerifier.create(client.streamByUserAndState(1L, "ALL", 0, 5))
+                .assertNext(result -> assertEquals(dto1.getId(), result.getId()))
+                .assertNext(result -> assertEquals(dto2.getId(), result.getId()))
+                .verifyComplete();
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/?state=ALL&from=0&size=5", request.getPath());
+        assertEquals("application/x-ndjson, application/json", request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void streamByOwnerAndState() throws JsonProcessingException, InterruptedException {
+        BookingShortDto dto = new BookingShortDto(1L, null, null, BookingStatus.WAITING, 1L, "item", 1L);
+        enqueueStream(dto);
+
+        StepVerifier.create(client.streamByOwnerAndState(1L, "ALL", 0, 5))
+                .assertNext(result -> assertEquals(dto.getId(), result.getId()))
+                .verifyComplete();
+        assertEquals("/owner?state=ALL&from=0&size=5", server.takeRequest().getPath());
+    }
+
+    @Test
+    void getByOwnerAndStateAfter() throws JsonProcessingException, InterruptedException {
+        BookingShortDto dto = new BookingShortDto(1L, null, null, BookingStatus.WAITING, 1L, "item", 1L);
+
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(mapper.writeValueAsString(List.of(dto)))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .addHeader("X-Next-Cursor", "next"));
+
+        StepVerifier.create(client.getByOwnerAndStateAfter(1L, "ALL", "abc", 1))
+                .assertNext(result -> {
+                    assertEquals("next", result.getHeaders().getFirst("X-Next-Cursor"));
+                    assertEquals(1, result.getBody().size());
+                    assertEquals(dto.getId(), result.getBody().get(0).getId());
+                })
+                .verifyComplete();
+        assertEquals("/owner?state=ALL&cursor=abc&size=1", server.takeRequest().getPath());
+    }
+
     private void enqueue(BookingDto dto) throws JsonProcessingException {
         server.enqueue(new MockResponse()
                 .setResponseCode(200)
                 .setBody(mapper.writeValueAsString(dto))
                 .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
     }
+
+    private void enqueueStream(BookingShortDto... dtos) throws JsonProcessingException {
+        StringBuilder body = new StringBuilder();
+        for (BookingShortDto dto : dtos) {
+            body.append(mapper.writeValueAsString(dto)).append('\n');
+        }
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(body.toString())
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE));
+    }
 }
@@ -4,16 +4,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import shareit.app.booking.dto.BookingDto;
+import shareit.app.booking.dto.BookingShortDto;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @WebFluxTest(BookingController.class)
@@ -213,8 +217,8 @@ public class BookingControllerTest {
 
     @Test
     void getByUserAndState() {
-        BookingDto dto = new BookingDto(1L, getLTD("+", 2), getLTD("+", 3),
-                null, 1L, null, 1L, BookingStatus.WAITING);
+        BookingShortDto dto = new BookingShortDto(1L, getLTD("+", 2), getLTD("+", 3),
+                BookingStatus.WAITING, 1L, "item", 1L);
         when(bookingClient.getByUserAndState(any(), any(), any(), any()))
                 .thenReturn(Mono.just(List.of(dto)));
 
@@ -229,13 +233,79 @@ public class BookingControllerTest {
                 .exchange()
                 .expectStatus().isOk()
                 .expectHeader().contentType(MediaType.APPLICATION_JSON)
-                .expectBodyList(BookingDto.class)
+                .expectBodyList(BookingShortDto.class)
                 .hasSize(1);
 
         verify(bookingClient).getByUserAndState(any(), any(), any(), any());
         verifyNoMoreInteractions(bookingClient);
     }
 
+    @Test
+    void getByUserAndStateWithCursor() {
+        BookingShortDto dto = new BookingShortDto(1L, getLTD("+", 2), getLTD("+", 3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(bookingClient.getByUserAndStateAfter(any(), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok().header("X-Next-Cursor", "next").body(List.of(dto))));
+
+        testClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(URI)
+                        .queryParam("state", "ALL")
+                        .queryParam("cursor", "")
+                        .queryParam("size", 5)
+                        .build())
+                .header(HEADER, String.valueOf(1L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", "next")
+                .expectBodyList(BookingShortDto.class)
+                .hasSize(1);
+
+        verify(bookingClient).getByUserAndStateAfter(any(), any(), eq(""), any());
+        verifyNoMoreInteractions(bookingClient);
+    }
+
+    @Test
+    void streamByUserAndState() {
+        BookingShortDto dto = new BookingShortDto(1L, getLTD("+", 2), getLTD("+", 3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(bookingClient.streamByUserAndState(any(), any(), any(), any()))
+                .thenReturn(Flux.just(dto, dto));
+
+        testClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(URI)
+                        .queryParam("state", "ALL")
+                        .queryParam("from", 0)
+                        .queryParam("size", 5)
+                        .build())
+                .header(HEADER, String.valueOf(1L))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(BookingShortDto.class)
+                .hasSize(2);
+
+        verify(bookingClient).streamByUserAndState(any(), eq("ALL"), eq(0), eq(5));
+        verifyNoMoreInteractions(bookingClient);
+    }
+
+    @Test
+    void streamByUserAndStateWithSizeZero() {
+        testClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(URI)
+                        .queryParam("size", 0)
+                        .build())
+                .header(HEADER, String.valueOf(1L))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(bookingClient);
+    }
+
     @Test
     void getByUserAndStateWithoutHeader() {
         testClient.get()
@@ -251,8 +321,8 @@ public class BookingControllerTest {
 
     @Test
     void getByUserAndStateWithoutParams() {
-        BookingDto bookingDto = new BookingDto(1L, getLTD("+", 2), getLTD("+", 3),
-                null, 1L, null, 1L, BookingStatus.WAITING);
+        BookingShortDto bookingDto = new BookingShortDto(1L, getLTD("+", 2), getLTD("+", 3),
+                BookingStatus.WAITING, 1L, "item", 1L);
         when(bookingClient.getByUserAndState(any(), any(), any(), any()))
                 .thenReturn(Mono.just(List.of(bookingDto)));
 
@@ -264,7 +334,7 @@ public class BookingControllerTest {
                 .exchange()
                 .expectStatus().isOk()
                 .expectHeader().contentType(MediaType.APPLICATION_JSON)
-                .expectBodyList(BookingDto.class)
+                .expectBodyList(BookingShortDto.class)
                 .hasSize(1);
 
         verify(bookingClient).getByUserAndState(any(), any(), any(), any());
@@ -315,8 +385,8 @@ public class BookingControllerTest {
 
     @Test
     void getByOwnerAndState() {
-        BookingDto dto = new BookingDto(1L, getLTD("+", 2), getLTD("+", 3),
-                null, 1L, null, 1L, BookingStatus.WAITING);
+        BookingShortDto dto = new BookingShortDto(1L, getLTD("+", 2), getLTD("+", 3),
+                BookingStatus.WAITING, 1L, "item", 1L);
         when(bookingClient.getByOwnerAndState(any(), any(), any(), any()))
                 .thenReturn(Mono.just(List.of(dto)));
 
@@ -331,13 +401,34 @@ public class BookingControllerTest {
                 .exchange()
                 .expectStatus().isOk()
                 .expectHeader().contentType(MediaType.APPLICATION_JSON)
-                .expectBodyList(BookingDto.class)
+                .expectBodyList(BookingShortDto.class)
                 .hasSize(1);
 
         verify(bookingClient).getByOwnerAndState(any(), any(), any(), any());
         verifyNoMoreInteractions(bookingClient);
     }
 
+    @Test
+    void streamByOwnerAndState() {
+        BookingShortDto dto = new BookingShortDto(1L, getLTD("+", 2), getLTD("+", 3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(bookingClient.streamByOwnerAndState(any(), any(), any(), any()))
+                .thenReturn(Flux.just(dto));
+
+        testClient.get()
+                .uri(URI + "/owner")
+                .header(HEADER, String.valueOf(1L))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(BookingShortDto.class)
+                .hasSize(1);
+
+        verify(bookingClient).streamByOwnerAndState(any(), eq("ALL"), eq(0), eq(200));
+        verifyNoMoreInteractions(bookingClient);
+    }
+
     @Test
     void getByOwnerAndStateWithoutHeader() {
         testClient.get()
@@ -353,8 +444,8 @@ public class BookingControllerTest {
 
     @Test
     void getByOwnerAndStateWithoutParams() {
-        BookingDto dto = new BookingDto(1L, getLTD("+", 2), getLTD("+", 3),
-                null, 1L, null, 1L, BookingStatus.WAITING);
+        BookingShortDto dto = new BookingShortDto(1L, getLTD("+", 2), getLTD("+", 3),
+                BookingStatus.WAITING, 1L, "item", 1L);
         when(bookingClient.getByOwnerAndState(any(), any(), any(), any()))
                 .thenReturn(Mono.just(List.of(dto)));
 
@@ -366,7 +457,7 @@ public class BookingControllerTest {
                 .exchange()
                 .expectStatus().isOk()
                 .expectHeader().contentType(MediaType.APPLICATION_JSON)
-                .expectBodyList(BookingDto.class)
+                .expectBodyList(BookingShortDto.class)
                 .hasSize(1);
 
         verify(bookingClient).getByOwnerAndState(any(), any(), any(), any());
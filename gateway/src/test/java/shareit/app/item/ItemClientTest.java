@@ -4,11 +4,14 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 import shareit.app.item.dto.CommentDto;
 import shareit.app.item.dto.ItemDto;
@@ -28,7 +31,7 @@ public class ItemClientTest {
     void setup() throws IOException {
         server = new MockWebServer();
         server.start();
-        client = new ItemClient(server.url("/").toString());
+        client = new ItemClient(WebClient.builder(), server.url("/").toString());
     }
 
     @AfterEach
@@ -50,6 +53,24 @@ public class ItemClientTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void addAll() throws JsonProcessingException, InterruptedException {
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(mapper.writeValueAsString(List.of(1L, 2L)))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+        StepVerifier.create(client.addAll(1L, Flux.just(new ItemDto(null, "item 1", "desc", true, null),
+                        new ItemDto(null, "item 2", "desc", true, null))))
+                .assertNext(result -> assertEquals(List.of(1L, 2L), result))
+                .verifyComplete();
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/batch", request.getPath());
+        assertEquals("1", request.getHeader("X-Sharer-User-Id"));
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, request.getHeader(HttpHeaders.CONTENT_TYPE));
+        assertEquals(2, request.getBody().readUtf8().lines().count());
+    }
+
     @Test
     public void update() throws JsonProcessingException {
         ItemDto dto = new ItemDto(1L, "item", "description", true, null);
@@ -116,6 +137,32 @@ public class ItemClientTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void streamByOwner() throws JsonProcessingException, InterruptedException {
+        ItemDto dto1 = new ItemDto(1L, "item 1", "description 1", true, null);
+        ItemDto dto2 = new ItemDto(2L, "item 2", "description 2", true, null);
+        enqueueStream(dto1, dto2);
+
+        StepVerifier.create(client.streamByOwner(1L, 0, 5))
+                .assertNext(result -> assertEquals(dto1.getId(), result.getId()))
+                .assertNext(result -> assertEquals(dto2.getId(), result.getId()))
+                .verifyComplete();
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/?from=0&size=5", request.getPath());
+        assertEquals("application/x-ndjson, application/json", request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    public void streamByText() throws JsonProcessingException, InterruptedException {
+        ItemDto dto = new ItemDto(1L, "item 1", "description 1", true, null);
+        enqueueStream(dto);
+
+        StepVerifier.create(client.streamByText(1L, "text", 0, 5))
+                .assertNext(result -> assertEquals(dto.getId(), result.getId()))
+                .verifyComplete();
+        assertEquals("/search?text=text&from=0&size=5", server.takeRequest().getPath());
+    }
+
     @Test
     public void addComment() throws JsonProcessingException {
         CommentDto dto = new CommentDto(1L, "comment", "user", null);
@@ -140,4 +187,15 @@ public class ItemClientTest {
                 .setBody(mapper.writeValueAsString(dto))
                 .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
     }
+
+    private void enqueueStream(ItemDto... dtos) throws JsonProcessingException {
+        StringBuilder body = new StringBuilder();
+        for (ItemDto dto : dtos) {
+            body.append(mapper.writeValueAsString(dto)).append('\n');
+        }
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(body.toString())
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE));
+    }
 }
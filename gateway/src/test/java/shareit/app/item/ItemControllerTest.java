@@ -6,6 +6,7 @@ import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import shareit.app.item.dto.CommentDto;
 import shareit.app.item.dto.ItemDto;
@@ -150,6 +151,58 @@ public class ItemControllerTest {
                 .expectStatus().isBadRequest();
     }
 
+    @Test
+    void addItems() {
+        List<ItemDto> items = List.of(new ItemDto(null, "item 1", "desc", true, null),
+                new ItemDto(null, "item 2", "desc", true, null));
+        when(itemClient.addAll(any(), any())).thenAnswer(invocation ->
+                invocation.<Flux<ItemDto>>getArgument(1).index((index, item) -> index + 1).collectList());
+
+        testClient.post()
+                .uri(URI + "/batch")
+                .header(HEADER, String.valueOf(1L))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(items)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1]").isEqualTo(2);
+    }
+
+    @Test
+    void addItemsAsNdjson() {
+        when(itemClient.addAll(any(), any())).thenAnswer(invocation ->
+                invocation.<Flux<ItemDto>>getArgument(1).index((index, item) -> index + 1).collectList());
+
+        testClient.post()
+                .uri(URI + "/batch")
+                .header(HEADER, String.valueOf(1L))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"name\":\"item 1\",\"description\":\"desc\",\"available\":true}\n" +
+                        "{\"name\":\"item 2\",\"description\":\"desc\",\"available\":false}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    void addItemsWithBlankName() {
+        List<ItemDto> items = List.of(new ItemDto(null, "item 1", "desc", true, null),
+                new ItemDto(null, "   ", "desc", true, null));
+        when(itemClient.addAll(any(), any())).thenAnswer(invocation ->
+                invocation.<Flux<ItemDto>>getArgument(1).index((index, item) -> index + 1).collectList());
+
+        testClient.post()
+                .uri(URI + "/batch")
+                .header(HEADER, String.valueOf(1L))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(items)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void updateItem() {
         ItemDto item = new ItemDto(1L, "item", "desc", true, null);
@@ -319,6 +372,31 @@ public class ItemControllerTest {
         verifyNoMoreInteractions(itemClient);
     }
 
+    @Test
+    void streamItemsByOwner() {
+        OwnerItemDto itemDto = new OwnerItemDto(1L, "item", "desc", true,
+                null, null, null, null);
+        when(itemClient.streamByOwner(any(), any(), any()))
+                .thenReturn(Flux.just(itemDto));
+
+        testClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(URI)
+                        .queryParam("from", 0)
+                        .queryParam("size", 5)
+                        .build())
+                .header(HEADER, String.valueOf(1L))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(OwnerItemDto.class)
+                .hasSize(1);
+
+        verify(itemClient).streamByOwner(any(), any(), any());
+        verifyNoMoreInteractions(itemClient);
+    }
+
     @Test
     void getItemsByOwnerWithoutHeader() {
         testClient.get()
@@ -395,6 +473,46 @@ public class ItemControllerTest {
         verifyNoMoreInteractions(itemClient);
     }
 
+    @Test
+    void streamItemsBySearch() {
+        ItemDto itemDto = new ItemDto(1L, "item", "desc", true, null);
+        ItemDto itemDto2 = new ItemDto(2L, "new item", "new desc", false, null);
+        when(itemClient.streamByText(any(), any(), any(), any()))
+                .thenReturn(Flux.just(itemDto, itemDto2));
+
+        testClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(URI + "/search")
+                        .queryParam("text", "text")
+                        .queryParam("from", 0)
+                        .queryParam("size", 5)
+                        .build())
+                .header(HEADER, String.valueOf(1L))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ItemDto.class)
+                .hasSize(2);
+
+        verify(itemClient).streamByText(any(), any(), any(), any());
+        verifyNoMoreInteractions(itemClient);
+    }
+
+    @Test
+    void streamItemsBySearchWithFromLessZero() {
+        testClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(URI + "/search")
+                        .queryParam("text", "text")
+                        .queryParam("from", -1)
+                        .build())
+                .header(HEADER, String.valueOf(1L))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void getItemsBySearchWithoutText() {
         when(itemClient.searchByText(any(), any(), any(), any()))
@@ -4,11 +4,13 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
 import reactor.test.StepVerifier;
 import shareit.app.requests.dto.ItemRequestDto;
 
@@ -26,7 +28,7 @@ public class ItemRequestClientTest {
     void setup() throws IOException {
         server = new MockWebServer();
         server.start();
-        client = new ItemRequestClient(server.url("/").toString());
+        client = new ItemRequestClient(WebClient.builder(), server.url("/").toString());
     }
 
     @AfterEach
@@ -75,6 +77,25 @@ public class ItemRequestClientTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void streamAllExceptRequester() throws JsonProcessingException, InterruptedException {
+        ItemRequestDto dto = new ItemRequestDto(1L, "desk", null, null);
+        server.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(mapper.writeValueAsString(dto) + "\n")
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE));
+
+        StepVerifier.create(client.streamAllExceptRequester(1L, 0, 5))
+                .assertNext(result -> {
+                    assertEquals(dto.getId(), result.getId());
+                    assertEquals(dto.getDescription(), result.getDescription());
+                })
+                .verifyComplete();
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/all?from=0&size=5", request.getPath());
+        assertEquals("application/x-ndjson, application/json", request.getHeader(HttpHeaders.ACCEPT));
+    }
+
     @Test
     public void getById() throws JsonProcessingException {
         ItemRequestDto dto = new ItemRequestDto(1L, "desk", null, null);
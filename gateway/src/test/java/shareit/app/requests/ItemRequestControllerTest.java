@@ -6,6 +6,7 @@ import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import shareit.app.requests.dto.ItemRequestDto;
 
@@ -167,6 +168,30 @@ public class ItemRequestControllerTest {
         verifyNoMoreInteractions(requestClient);
     }
 
+    @Test
+    void streamAllExceptRequester() {
+        ItemRequestDto dto = new ItemRequestDto(1L, "desc", null, null);
+        when(requestClient.streamAllExceptRequester(any(), any(), any()))
+                .thenReturn(Flux.just(dto));
+
+        testClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(URI + "/all")
+                        .queryParam("from", 0)
+                        .queryParam("size", 5)
+                        .build())
+                .header(HEADER, String.valueOf(1L))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ItemRequestDto.class)
+                .hasSize(1);
+
+        verify(requestClient).streamAllExceptRequester(any(), any(), any());
+        verifyNoMoreInteractions(requestClient);
+    }
+
     @Test
     void getAllExceptRequesterWithoutHeader() {
         testClient.get()
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
 import reactor.test.StepVerifier;
 import shareit.app.user.dto.UserDto;
 
@@ -27,7 +28,7 @@ public class UserClientTest {
     void setup() throws IOException {
         server = new MockWebServer();
         server.start();
-        client = new UserClient(server.url("/").toString());
+        client = new UserClient(WebClient.builder(), server.url("/").toString());
     }
 
     @AfterEach
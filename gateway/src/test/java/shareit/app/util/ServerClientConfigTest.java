@@ -0,0 +1,142 @@
+package shareit.app.util;
+
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+import javax.net.ServerSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ServerClientConfigTest {
+
+    private final ServerClientConfig config = new ServerClientConfig();
+    private final ServerClientProperties properties = new ServerClientProperties();
+    private MockWebServer server;
+    private ConnectionProvider provider;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = new MockWebServer();
+    }
+
+    @AfterEach
+    void shutdown() throws IOException {
+        if (provider != null) {
+            provider.dispose();
+        }
+        server.shutdown();
+    }
+
+    @Test
+    void reuseConnection() throws IOException {
+        CountingServerSocketFactory sockets = new CountingServerSocketFactory();
+        server.setServerSocketFactory(sockets);
+        server.start();
+        server.enqueue(new MockResponse().setBody("1"));
+        server.enqueue(new MockResponse().setBody("2"));
+        properties.setMaxConnections(1);
+        ClientHttpConnector connector = connector();
+        WebClient first = client(connector);
+        WebClient second = client(connector);
+
+        StepVerifier.create(first.get().retrieve().bodyToMono(String.class))
+                .expectNext("1")
+                .verifyComplete();
+        StepVerifier.create(second.get().retrieve().bodyToMono(String.class))
+                .expectNext("2")
+                .verifyComplete();
+
+        assertEquals(1, sockets.accepted.get());
+    }
+
+    @Test
+    void responseTimeout() throws IOException {
+        properties.setResponseTimeout(Duration.ofMillis(200));
+        server.start();
+        server.enqueue(new MockResponse().setBody("late").setHeadersDelay(2, TimeUnit.SECONDS));
+
+        StepVerifier.create(client().get().retrieve().bodyToMono(String.class))
+                .expectError(WebClientRequestException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void h2c() throws IOException {
+        properties.setProtocols(List.of(HttpProtocol.H2C));
+        server.setProtocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+        server.start();
+        server.enqueue(new MockResponse().setBody("h2c"));
+
+        StepVerifier.create(client().get().retrieve().bodyToMono(String.class))
+                .expectNext("h2c")
+                .verifyComplete();
+    }
+
+    private WebClient client() {
+        return client(connector());
+    }
+
+    private WebClient client(ClientHttpConnector connector) {
+        return WebClient.builder()
+                .baseUrl(server.url("/").toString())
+                .clientConnector(connector)
+                .build();
+    }
+
+    private ClientHttpConnector connector() {
+        if (provider == null) {
+            provider = config.serverConnectionProvider(properties);
+        }
+        return config.serverHttpConnector(provider, properties);
+    }
+
+    private static class CountingServerSocketFactory extends ServerSocketFactory {
+
+        private final AtomicInteger accepted = new AtomicInteger();
+
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    Socket socket = super.accept();
+                    accepted.incrementAndGet();
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
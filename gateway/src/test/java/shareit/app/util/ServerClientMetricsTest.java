@@ -0,0 +1,89 @@
+package shareit.app.util;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@AutoConfigureObservability(tracing = false)
+public class ServerClientMetricsTest {
+
+    private static MockWebServer server;
+
+    @Autowired
+    private WebTestClient testClient;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterAll
+    static void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("share-it-server.url", () -> "http://localhost:" + server.getPort());
+    }
+
+    @Test
+    void tagClientTimersWithoutIds() {
+        enqueue("{\"id\":42}");
+        enqueue("[]");
+
+        testClient.get()
+                .uri("/bookings/42")
+                .header("X-Sharer-User-Id", "7")
+                .exchange()
+                .expectStatus().isOk();
+        testClient.get()
+                .uri("/items/search?text=drill&from=0&size=5")
+                .header("X-Sharer-User-Id", "7")
+                .exchange()
+                .expectStatus().isOk();
+
+        String metrics = testClient.get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(metrics)
+                .contains("http_client_requests_seconds_count{application=\"share-it-gateway\"," +
+                        "client_name=\"localhost\",error=\"none\",exception=\"none\",method=\"GET\"," +
+                        "outcome=\"SUCCESS\",status=\"200\",uri=\"/bookings/{id}\"} 1")
+                .contains("uri=\"/items/search\"")
+                .contains("reactor_netty_connection_provider_total_connections")
+                .doesNotContain("uri=\"none\"")
+                .doesNotContain("drill")
+                .doesNotContain("=\"7\"")
+                .doesNotContain("=\"42\"");
+    }
+
+    private void enqueue(String body) {
+        server.enqueue(new MockResponse()
+                .setBody(body)
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    }
+}
@@ -0,0 +1,146 @@
+package shareit.app.util;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SingleFlightFilterTest {
+
+    private final SingleFlightFilter filter = new SingleFlightFilter();
+    private MockWebServer server;
+    private WebClient client;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = WebClient.builder()
+                .baseUrl(server.url("/").toString())
+                .filter(filter)
+                .build();
+    }
+
+    @AfterEach
+    void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void coalesceConcurrentGets() {
+        server.enqueue(new MockResponse().setBody("item").setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+        StepVerifier.create(Mono.zip(get("/items/1", 1L), get("/items/1", 1L), get("/items/1", 1L)))
+                .assertNext(results -> {
+                    assertEquals("item", results.getT1());
+                    assertEquals("item", results.getT2());
+                    assertEquals("item", results.getT3());
+                })
+                .verifyComplete();
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, filter.inFlight());
+    }
+
+    @Test
+    void notCoalesceDifferentUsersAndQueries() {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("item").setBodyDelay(100, TimeUnit.MILLISECONDS));
+        }
+
+        StepVerifier.create(Mono.zip(get("/items/1", 1L), get("/items/1", 2L), get("/items/1?from=1", 1L)))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void notCacheAfterCompletion() {
+        server.enqueue(new MockResponse().setBody("first"));
+        server.enqueue(new MockResponse().setBody("second"));
+
+        StepVerifier.create(get("/items/1", 1L))
+                .expectNext("first")
+                .verifyComplete();
+        StepVerifier.create(get("/items/1", 1L))
+                .expectNext("second")
+                .verifyComplete();
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void notCoalescePosts() {
+        server.enqueue(new MockResponse().setBody("1").setBodyDelay(100, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("2").setBodyDelay(100, TimeUnit.MILLISECONDS));
+
+        StepVerifier.create(Mono.zip(post("/items"), post("/items")))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void notCoalesceStreams() {
+        server.enqueue(new MockResponse().setBody("1\n").setBodyDelay(100, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("2\n").setBodyDelay(100, TimeUnit.MILLISECONDS));
+
+        StepVerifier.create(Mono.zip(stream("/items"), stream("/items")))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(2, server.getRequestCount());
+        assertEquals(0, filter.inFlight());
+    }
+
+    @Test
+    void shareErrors() {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"error\":\"not found\"}")
+                .setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+        StepVerifier.create(Mono.zip(
+                        get("/items/1", 1L).onErrorResume(WebClientResponseException.NotFound.class,
+                                e -> Mono.just(e.getResponseBodyAsString())),
+                        get("/items/1", 1L).onErrorResume(WebClientResponseException.NotFound.class,
+                                e -> Mono.just(e.getResponseBodyAsString()))))
+                .assertNext(results -> {
+                    assertEquals("{\"error\":\"not found\"}", results.getT1());
+                    assertEquals("{\"error\":\"not found\"}", results.getT2());
+                })
+                .verifyComplete();
+        assertEquals(1, server.getRequestCount());
+    }
+
+    private Mono<String> get(String path, Long userId) {
+        return client.get()
+                .uri(path)
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    private Mono<String> stream(String path) {
+        return client.get()
+                .uri(path)
+                .header("X-Sharer-User-Id", "1")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    private Mono<String> post(String path) {
+        return client.post()
+                .uri(path)
+                .bodyValue("{}")
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+}
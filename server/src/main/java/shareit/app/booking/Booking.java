@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import shareit.app.item.Item;
 import shareit.app.user.User;
+import shareit.app.util.SnowflakeId;
 
 import java.time.LocalDateTime;
 
@@ -14,10 +15,27 @@ import java.time.LocalDateTime;
 @ToString
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.DETAILS,
+        attributeNodes = {
+                @NamedAttributeNode(value = "item", subgraph = "item"),
+                @NamedAttributeNode("booker")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "item", attributeNodes = {
+                        @NamedAttributeNode("owner"),
+                        @NamedAttributeNode(value = "request", subgraph = "request")
+                }),
+                @NamedSubgraph(name = "request", attributeNodes = @NamedAttributeNode("requester"))
+        })
 public class Booking {
 
+    /**
+     * Всё, что отдаёт {@link shareit.app.booking.dto.BookingDto}: предмет с владельцем и запросом и арендатор.
+     */
+    public static final String DETAILS = "Booking.details";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     @Column(name = "booking_id")
     private Long id;
 
@@ -27,14 +45,26 @@ public class Booking {
     @Column(name = "end_date")
     private LocalDateTime end;
 
-    @ManyToOne(cascade = CascadeType.MERGE)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     @JoinColumn(name = "item_id")
     private Item item;
 
-    @ManyToOne(cascade = CascadeType.MERGE)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     @JoinColumn(name = "booker_id")
     private User booker;
 
+    /**
+     * Копия владельца предмета, чтобы выдачи владельца обходились без соединения с items. Заполняет
+     * и обновляет при смене владельца сама база, см. V6__add_booking_owner.sql.
+     */
+    @Column(name = "owner_id", updatable = false)
+    private Long ownerId;
+
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+
+    @Version
+    private Long version;
 }
@@ -1,8 +1,13 @@
 package shareit.app.booking;
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import shareit.app.booking.dto.BookingDto;
+import shareit.app.booking.dto.BookingShortDto;
+import shareit.app.util.NdjsonResponses;
 
 import java.util.List;
 
@@ -12,6 +17,7 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService service;
+    private final NdjsonResponses ndjson;
 
     @PostMapping
     public BookingDto add(@RequestHeader("X-Sharer-User-Id") Long userId,
@@ -33,18 +39,50 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getByUserAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @RequestParam(value = "state", defaultValue = "ALL") String state,
-                                              @RequestParam(value = "from") Integer from,
-                                              @RequestParam(value = "size") Integer size) {
-        return service.getByUserAndState(userId, state, from, size);
+    public ResponseEntity<List<BookingShortDto>> getByUserAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                   @RequestParam(value = "state", defaultValue = "ALL")
+                                                                   String state,
+                                                                   @RequestParam(value = "from", defaultValue = "0")
+                                                                   Integer from,
+                                                                   @RequestParam(value = "size") Integer size,
+                                                                   @RequestParam(value = "cursor", required = false)
+                                                                   String cursor) {
+        if (cursor != null) {
+            return service.getByUserAndStateAfter(userId, state, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(service.getByUserAndState(userId, state, from, size));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByUserAndState(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "state", defaultValue = "ALL") String state,
+            @RequestParam(value = "from", defaultValue = "0") Integer from,
+            @RequestParam(value = "size") Integer size) {
+        return ndjson.of(service.streamByUserAndState(userId, state, from, size));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getByOwnerAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                               @RequestParam(value = "state", defaultValue = "ALL") String state,
-                                               @RequestParam(value = "from") Integer from,
-                                               @RequestParam(value = "size") Integer size) {
-        return service.getByOwnerAndState(userId, state, from, size);
+    public ResponseEntity<List<BookingShortDto>> getByOwnerAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                    @RequestParam(value = "state", defaultValue = "ALL")
+                                                                    String state,
+                                                                    @RequestParam(value = "from", defaultValue = "0")
+                                                                    Integer from,
+                                                                    @RequestParam(value = "size") Integer size,
+                                                                    @RequestParam(value = "cursor", required = false)
+                                                                    String cursor) {
+        if (cursor != null) {
+            return service.getByOwnerAndStateAfter(userId, state, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(service.getByOwnerAndState(userId, state, from, size));
+    }
+
+    @GetMapping(path = "/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByOwnerAndState(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "state", defaultValue = "ALL") String state,
+            @RequestParam(value = "from", defaultValue = "0") Integer from,
+            @RequestParam(value = "size") Integer size) {
+        return ndjson.of(service.streamByOwnerAndState(userId, state, from, size));
     }
 }
@@ -17,7 +17,9 @@ public class BookingMapper {
                 bookingDto.getEnd(),
                 new Item(),
                 new User(),
-                BookingStatus.WAITING);
+                null,
+                BookingStatus.WAITING,
+                null);
     }
 
     public BookingDto convertToDto(Booking booking) {
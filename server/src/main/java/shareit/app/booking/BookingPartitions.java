@@ -0,0 +1,60 @@
+package shareit.app.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Создаёт помесячные секции bookings на {@code months-ahead} месяцев вперёд и, если задан
+ * {@code retention-months}, отсоединяет старые в схему {@code archive-schema}. Функции базы работают
+ * под advisory lock, так что экземпляры сервера могут запускать их одновременно.
+ */
+@Slf4j
+@Component
+public class BookingPartitions {
+
+    private final JdbcTemplate jdbc;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String archiveSchema;
+
+    public BookingPartitions(JdbcTemplate jdbc,
+                             @Value("${shareit.bookings.partitions.months-ahead:3}") int monthsAhead,
+                             @Value("${shareit.bookings.partitions.retention-months:0}") int retentionMonths,
+                             @Value("${shareit.bookings.partitions.archive-schema:archive}") String archiveSchema) {
+        this.jdbc = jdbc;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveSchema = archiveSchema;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${shareit.bookings.partitions.cron:0 0 3 * * *}")
+    public void maintain() {
+        maintain(LocalDate.now());
+    }
+
+    public void maintain(LocalDate today) {
+        LocalDate month = today.withDayOfMonth(1);
+        List<String> created = jdbc.queryForList("SELECT bookings_create_partitions(CAST(? AS DATE), " +
+                "CAST(? AS DATE))", String.class, month, month.plusMonths(monthsAhead));
+        if (!created.isEmpty()) {
+            log.info("Созданы секции бронирований {}", created);
+        }
+        if (retentionMonths <= 0) {
+            return;
+        }
+        List<String> detached = jdbc.queryForList("SELECT bookings_detach_partitions(CAST(? AS DATE), ?)",
+                String.class, month.minusMonths(retentionMonths), archiveSchema);
+        if (!detached.isEmpty()) {
+            log.info("Секции бронирований {} перенесены в схему {}", detached, archiveSchema);
+        }
+    }
+}
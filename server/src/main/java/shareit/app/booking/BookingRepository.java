@@ -2,34 +2,70 @@ package shareit.app.booking;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import shareit.app.booking.dto.BookingShortDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Таблица bookings разбита на помесячные секции по end_date (V7__partition_bookings.sql). Запросы будущих
+ * бронирований повторяют условие start > time как end > time: бронирование не кончается раньше, чем
+ * начинается, а по end_date планировщик отбрасывает секции прошлых месяцев.
+ */
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    String request = "SELECT booking_id, b.start_date, b.end_date, b.item_id, b.booker_id, b.status " +
-            "FROM items i " +
-            "LEFT JOIN bookings b ON i.item_id = b.item_id " +
-            "WHERE i.owner_id = ?1 ";
-
-    List<Booking> findByBookerId(Long bookerId, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfter(Long bookerId,
-                                                          LocalDateTime before,
-                                                          LocalDateTime after,
-                                                          Pageable pageable);
-
-    List<Booking> findByBookerIdAndEndBefore(Long bookerId, LocalDateTime time, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStartAfter(Long bookerId, LocalDateTime time, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking>,
+        BookingStreamRepository {
+
+    /**
+     * Списки бронирований: только поля {@link BookingShortDto}, без загрузки предметов и пользователей.
+     */
+    String SHORT = "SELECT new shareit.app.booking.dto.BookingShortDto(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, b.booker.id) " +
+            "FROM Booking b " +
+            "JOIN b.item i ";
+
+    /**
+     * Ищет во всех секциях: booking_id уникален благодаря первичному ключу booking_periods.
+     */
+    @Override
+    @EntityGraph(Booking.DETAILS)
+    Optional<Booking> findById(Long bookingId);
+
+    /**
+     * Меняет статус бронирования одним условным UPDATE: только если бронирование ещё ожидает
+     * подтверждения и предмет принадлежит ownerId. Возвращает число изменённых строк (0 или 1).
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ?3, b.version = b.version + 1 " +
+            "WHERE b.id = ?1 AND b.status = shareit.app.booking.BookingStatus.WAITING " +
+            "AND b.ownerId = ?2")
+    int updateWaitingStatus(Long bookingId, Long ownerId, BookingStatus status);
+
+    @Query(SHORT + "WHERE b.booker.id = ?1")
+    List<BookingShortDto> findByBookerId(Long bookerId, Pageable pageable);
+
+    @Query(SHORT + "WHERE b.booker.id = ?1 AND b.start < ?2 AND b.end > ?3")
+    List<BookingShortDto> findByBookerIdAndStartBeforeAndEndAfter(Long bookerId,
+                                                                  LocalDateTime before,
+                                                                  LocalDateTime after,
+                                                                  Pageable pageable);
+
+    @Query(SHORT + "WHERE b.booker.id = ?1 AND b.end < ?2")
+    List<BookingShortDto> findByBookerIdAndEndBefore(Long bookerId, LocalDateTime time, Pageable pageable);
+
+    @Query(SHORT + "WHERE b.booker.id = ?1 AND b.start > ?2 AND b.end > ?2")
+    List<BookingShortDto> findByBookerIdAndStartAfter(Long bookerId, LocalDateTime time, Pageable pageable);
+
+    @Query(SHORT + "WHERE b.booker.id = ?1 AND b.status = ?2")
+    List<BookingShortDto> findByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
 
     @Query(name = "SELECT *" +
             "FROM bookings b " +
@@ -38,25 +74,44 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "LIMIT 1", nativeQuery = true)
     Optional<Booking> findByItemIdAndBookerIdAndEndBefore(Long itemId, Long userId, LocalDateTime time);
 
-    @Query(name = request + " AND (b.status LIKE 'WAITING' OR b.status LIKE 'APPROVED') ", nativeQuery = true)
-    List<Booking> findByItemOwnerId(Long ownerId, Pageable pageable);
+    @Query(SHORT + "WHERE b.ownerId = ?1")
+    List<BookingShortDto> findByItemOwnerId(Long ownerId, Pageable pageable);
 
-    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfter(Long ownerId,
-                                                             LocalDateTime before,
-                                                             LocalDateTime after,
-                                                             Pageable pageable);
+    @Query(SHORT + "WHERE b.ownerId = ?1 AND b.start < ?2 AND b.end > ?3")
+    List<BookingShortDto> findByItemOwnerIdAndStartBeforeAndEndAfter(Long ownerId,
+                                                                     LocalDateTime before,
+                                                                     LocalDateTime after,
+                                                                     Pageable pageable);
 
-    @Query(name = request + "AND (b.status LIKE 'WAITING' OR b.status LIKE 'APPROVED') " +
-            "AND b.end_date < ?2 ", nativeQuery = true)
-    List<Booking> findByItemOwnerIdAndEndBefore(Long ownerId, LocalDateTime time, Pageable pageable);
+    @Query(SHORT + "WHERE b.ownerId = ?1 AND b.end < ?2")
+    List<BookingShortDto> findByItemOwnerIdAndEndBefore(Long ownerId, LocalDateTime time, Pageable pageable);
 
-    @Query(name = request + "AND (b.status LIKE 'WAITING' OR b.status LIKE 'APPROVED') " +
-            "AND b.start_date > ?2 ", nativeQuery = true)
-    List<Booking> findByItemOwnerIdAndStartAfter(Long ownerId, LocalDateTime time, Pageable pageable);
+    @Query(SHORT + "WHERE b.ownerId = ?1 AND b.start > ?2 AND b.end > ?2")
+    List<BookingShortDto> findByItemOwnerIdAndStartAfter(Long ownerId, LocalDateTime time, Pageable pageable);
 
-    List<Booking> findByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+    @Query(SHORT + "WHERE b.ownerId = ?1 AND b.status = ?2")
+    List<BookingShortDto> findByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
 
+    @EntityGraph(Booking.DETAILS)
     Booking findFirstByItemIdAndEndBefore(Long itemId, LocalDateTime time, Sort sort);
 
-    Booking findFirstByItemIdAndStartAfter(Long itemId, LocalDateTime time, Sort sort);
-}
\ No newline at end of file
+    @EntityGraph(Booking.DETAILS)
+    Booking findFirstByItemIdAndStartAfterAndEndAfter(Long itemId,
+                                                      LocalDateTime start,
+                                                      LocalDateTime end,
+                                                      Sort sort);
+
+    @Query(value = "SELECT booking_id, start_date, end_date, item_id, booker_id, owner_id, status, version " +
+            "FROM (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date DESC) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN ?1 AND b.end_date < ?2) ranked " +
+            "WHERE rn = 1", nativeQuery = true)
+    List<Booking> findLastByItemIdIn(Collection<Long> itemIds, LocalDateTime time);
+
+    @Query(value = "SELECT booking_id, start_date, end_date, item_id, booker_id, owner_id, status, version " +
+            "FROM (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN ?1 AND b.start_date > ?2 AND b.end_date > ?2) ranked " +
+            "WHERE rn = 1", nativeQuery = true)
+    List<Booking> findNextByItemIdIn(Collection<Long> itemIds, LocalDateTime time);
+}
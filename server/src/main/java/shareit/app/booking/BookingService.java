@@ -1,9 +1,15 @@
 package shareit.app.booking;
 
 import shareit.app.booking.dto.BookingDto;
+import shareit.app.booking.dto.BookingShortDto;
+import shareit.app.util.CursorPage;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public interface BookingService {
 
@@ -13,13 +19,32 @@ public interface BookingService {
 
     BookingDto getById(Long userId, Long bookingId);
 
-    List<BookingDto> getByUserAndState(Long bookerId, String state, Integer from, Integer size);
+    List<BookingShortDto> getByUserAndState(Long bookerId, String state, Integer from, Integer size);
 
-    List<BookingDto> getByOwnerAndState(Long ownerId, String state, Integer from, Integer size);
+    List<BookingShortDto> getByOwnerAndState(Long ownerId, String state, Integer from, Integer size);
+
+    /**
+     * Проверяет аргументы сразу, а бронирования читает при вызове поставщика — в транзакции,
+     * в которой результат записывается в ответ.
+     */
+    Supplier<Stream<BookingShortDto>> streamByUserAndState(Long bookerId, String state, Integer from,
+                                                           Integer size);
+
+    Supplier<Stream<BookingShortDto>> streamByOwnerAndState(Long ownerId, String state, Integer from,
+                                                            Integer size);
+
+    CursorPage<BookingShortDto> getByUserAndStateAfter(Long bookerId, String state, String cursor, Integer size);
+
+    CursorPage<BookingShortDto> getByOwnerAndStateAfter(Long ownerId, String state, String cursor,
+                                                        Integer size);
 
     BookingDto getLastBooking(Long itemId);
 
     BookingDto getNextBooking(Long itemId);
 
+    Map<Long, BookingDto> getLastBookings(Collection<Long> itemIds);
+
+    Map<Long, BookingDto> getNextBookings(Collection<Long> itemIds);
+
     Booking getByItemId(Long itemId, Long userId, LocalDateTime time);
 }
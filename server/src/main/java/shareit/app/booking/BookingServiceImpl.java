@@ -1,28 +1,46 @@
 package shareit.app.booking;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import shareit.app.booking.dto.BookingDto;
+import shareit.app.booking.dto.BookingShortDto;
+import shareit.app.exception.ObjectAlreadyExistException;
 import shareit.app.exception.ObjectNotFoundException;
 import shareit.app.exception.ValidationException;
 import shareit.app.item.ItemService;
 import shareit.app.user.UserMapper;
 import shareit.app.user.UserService;
+import shareit.app.util.Cursor;
+import shareit.app.util.CursorPage;
+import shareit.app.util.LogIds;
+import shareit.app.util.MetricsConfig;
 import shareit.app.util.OffsetPageRequest;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @AllArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
     private final BookingRepository repository;
     private final ItemService itemService;
     private final UserService userService;
@@ -34,6 +52,7 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingMapper.convertFromDto(bookingDto);
         checkDate(booking);
         booking.setItem(itemService.getItemById(bookingDto.getItemId()));
+        booking.setOwnerId(booking.getItem().getOwner().getId());
         if (booking.getItem().getOwner().getId().equals(userId)) {
             throw new ObjectNotFoundException("Владелец не может арендовать собственную вещь");
         }
@@ -41,7 +60,15 @@ public class BookingServiceImpl implements BookingService {
         if (!booking.getItem().getAvailable()) {
             throw new ValidationException("Предмет " + booking.getItem() + " не доступен");
         }
-        repository.save(booking);
+        try {
+            repository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlap(e)) {
+                throw new ObjectAlreadyExistException("Предмет " + bookingDto.getItemId()
+                        + " уже забронирован на пересекающийся период");
+            }
+            throw e;
+        }
         log.info("Добавлено бронирование {}", booking);
         return bookingMapper.convertToDto(booking);
     }
@@ -49,23 +76,21 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public BookingDto makeApprove(Long ownerId, Long bookingId, boolean approved) {
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        int updated = repository.updateWaitingStatus(bookingId, ownerId, status);
         Booking booking = checkBooking(bookingId);
-        if (!booking.getItem().getOwner().getId().equals(ownerId)) {
-            throw new ObjectNotFoundException("Изменить статус бронирования может только владелец предмета");
-        }
-        if (!booking.getStatus().equals(BookingStatus.WAITING)) {
+        if (updated == 0) {
+            if (!booking.getItem().getOwner().getId().equals(ownerId)) {
+                throw new ObjectNotFoundException("Изменить статус бронирования может только владелец предмета");
+            }
             throw new ValidationException("Изменить статус бронирования невозможно");
         }
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
-        }
         log.info("Бронированию {} установлен новый статус {}", booking, booking.getStatus());
         return bookingMapper.convertToDto(booking);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingDto getById(Long userId, Long bookingId) {
         Booking booking = checkBooking(bookingId);
         if (booking.getBooker().getId().equals(userId) || booking.getItem().getOwner().getId().equals(userId)) {
@@ -76,77 +101,181 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getByUserAndState(Long bookerId, String state, Integer from, Integer size) {
-        userService.getById(bookerId);
+    @Transactional(readOnly = true)
+    public List<BookingShortDto> getByUserAndState(Long bookerId, String state, Integer from, Integer size) {
+        userService.requireExists(bookerId);
         checkState(state);
-        List<BookingDto> bookings = switch (BookingState.valueOf(state)) {
-            case ALL -> bookingMapper.convertToDto(repository.findByBookerId(bookerId, getPagination(from, size)));
-            case CURRENT -> bookingMapper.convertToDto(repository.findByBookerIdAndStartBeforeAndEndAfter(
-                    bookerId, LocalDateTime.now(), LocalDateTime.now(), getPagination(from, size)));
-            case PAST -> bookingMapper.convertToDto(repository.findByBookerIdAndEndBefore(
-                    bookerId, LocalDateTime.now(), getPagination(from, size)));
-            case FUTURE -> bookingMapper.convertToDto(repository.findByBookerIdAndStartAfter(
-                    bookerId, LocalDateTime.now(), getPagination(from, size)));
-            case WAITING -> bookingMapper.convertToDto(repository.findByBookerIdAndStatus(
-                    bookerId, BookingStatus.WAITING, getPagination(from, size)));
-            case REJECTED -> bookingMapper.convertToDto(repository.findByBookerIdAndStatus(
-                    bookerId, BookingStatus.REJECTED, getPagination(from, size)));
+        List<BookingShortDto> bookings = switch (BookingState.valueOf(state)) {
+            case ALL -> repository.findByBookerId(bookerId, getPagination(from, size));
+            case CURRENT -> repository.findByBookerIdAndStartBeforeAndEndAfter(
+                    bookerId, LocalDateTime.now(), LocalDateTime.now(), getPagination(from, size));
+            case PAST -> repository.findByBookerIdAndEndBefore(
+                    bookerId, LocalDateTime.now(), getPagination(from, size));
+            case FUTURE -> repository.findByBookerIdAndStartAfter(
+                    bookerId, LocalDateTime.now(), getPagination(from, size));
+            case WAITING -> repository.findByBookerIdAndStatus(
+                    bookerId, BookingStatus.WAITING, getPagination(from, size));
+            case REJECTED -> repository.findByBookerIdAndStatus(
+                    bookerId, BookingStatus.REJECTED, getPagination(from, size));
         };
-        log.info("Получен список бронирований {} для пользователя {}", bookings, userService.getById(bookerId));
+        log.info("Получены бронирования {} для пользователя {}", LogIds.of(bookings, BookingShortDto::getId),
+                bookerId);
         return bookings;
     }
 
     @Override
-    public List<BookingDto> getByOwnerAndState(Long ownerId, String state, Integer from, Integer size) {
-        userService.getById(ownerId);
+    @Transactional(readOnly = true)
+    public List<BookingShortDto> getByOwnerAndState(Long ownerId, String state, Integer from, Integer size) {
+        userService.requireExists(ownerId);
         checkState(state);
-        List<BookingDto> bookings = new ArrayList<>();
-        if (!itemService.getByOwner(ownerId, 0, size).isEmpty()) {
-            bookings = switch (BookingState.valueOf(state)) {
-                case ALL -> bookingMapper.convertToDto(repository.findByItemOwnerId(ownerId,
-                        getPagination(from, size)));
-                case CURRENT -> bookingMapper.convertToDto(repository.findByItemOwnerIdAndStartBeforeAndEndAfter(
-                        ownerId, LocalDateTime.now(), LocalDateTime.now(), getPagination(from, size)));
-                case PAST -> bookingMapper.convertToDto(repository.findByItemOwnerIdAndEndBefore(
-                        ownerId, LocalDateTime.now(), getPagination(from, size)));
-                case FUTURE -> bookingMapper.convertToDto(repository.findByItemOwnerIdAndStartAfter(
-                        ownerId, LocalDateTime.now(), getPagination(from, size)));
-                case WAITING -> bookingMapper.convertToDto(repository.findByItemOwnerIdAndStatus(
-                        ownerId, BookingStatus.WAITING, getPagination(from, size)));
-                case REJECTED -> bookingMapper.convertToDto(repository.findByItemOwnerIdAndStatus(
-                        ownerId, BookingStatus.REJECTED, getPagination(from, size)));
-            };
-        }
-        log.info("Получен список бронирований {} для владельца {}", bookings, userService.getById(ownerId));
+        List<BookingShortDto> bookings = switch (BookingState.valueOf(state)) {
+            case ALL -> repository.findByItemOwnerId(ownerId, getPagination(from, size));
+            case CURRENT -> repository.findByItemOwnerIdAndStartBeforeAndEndAfter(
+                    ownerId, LocalDateTime.now(), LocalDateTime.now(), getPagination(from, size));
+            case PAST -> repository.findByItemOwnerIdAndEndBefore(
+                    ownerId, LocalDateTime.now(), getPagination(from, size));
+            case FUTURE -> repository.findByItemOwnerIdAndStartAfter(
+                    ownerId, LocalDateTime.now(), getPagination(from, size));
+            case WAITING -> repository.findByItemOwnerIdAndStatus(
+                    ownerId, BookingStatus.WAITING, getPagination(from, size));
+            case REJECTED -> repository.findByItemOwnerIdAndStatus(
+                    ownerId, BookingStatus.REJECTED, getPagination(from, size));
+        };
+        log.info("Получены бронирования {} для владельца {}", LogIds.of(bookings, BookingShortDto::getId),
+                ownerId);
         return bookings;
     }
 
     @Override
+    public Supplier<Stream<BookingShortDto>> streamByUserAndState(Long bookerId, String state, Integer from,
+                                                                  Integer size) {
+        userService.requireExists(bookerId);
+        checkState(state);
+        log.info("Потоковая выдача бронирований {} пользователя {}", state, bookerId);
+        return () -> stream(BookingSpecifications.byBooker(bookerId), state, from, size);
+    }
+
+    @Override
+    public Supplier<Stream<BookingShortDto>> streamByOwnerAndState(Long ownerId, String state, Integer from,
+                                                                   Integer size) {
+        userService.requireExists(ownerId);
+        checkState(state);
+        log.info("Потоковая выдача бронирований {} владельца {}", state, ownerId);
+        return () -> stream(BookingSpecifications.byItemOwner(ownerId), state, from, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingShortDto> getByUserAndStateAfter(Long bookerId, String state, String cursor,
+                                                              Integer size) {
+        userService.requireExists(bookerId);
+        checkState(state);
+        List<BookingShortDto> bookings = findAfter(BookingSpecifications.byBooker(bookerId), state, cursor,
+                size);
+        log.info("Получено {} бронирований после курсора {} для пользователя {}", bookings.size(), cursor, bookerId);
+        return CursorPage.of(bookings, size, this::getCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingShortDto> getByOwnerAndStateAfter(Long ownerId, String state, String cursor,
+                                                               Integer size) {
+        userService.requireExists(ownerId);
+        checkState(state);
+        List<BookingShortDto> bookings = findAfter(BookingSpecifications.byItemOwner(ownerId), state, cursor,
+                size);
+        log.info("Получено {} бронирований после курсора {} для владельца {}", bookings.size(), cursor, ownerId);
+        return CursorPage.of(bookings, size, this::getCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public BookingDto getLastBooking(Long itemId) {
         Booking booking = repository.findFirstByItemIdAndEndBefore(itemId, LocalDateTime.now(), getSorting());
         return booking == null ? null : bookingMapper.convertToDto(booking);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingDto getNextBooking(Long itemId) {
-        Booking booking = repository.findFirstByItemIdAndStartAfter(itemId, LocalDateTime.now(),
+        LocalDateTime now = LocalDateTime.now();
+        Booking booking = repository.findFirstByItemIdAndStartAfterAndEndAfter(itemId, now, now,
                 Sort.by(Sort.Direction.ASC, "start"));
         return booking == null ? null : bookingMapper.convertToDto(booking);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Map<Long, BookingDto> getLastBookings(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        return groupByItem(repository.findLastByItemIdIn(itemIds, LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, BookingDto> getNextBookings(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        return groupByItem(repository.findNextByItemIdIn(itemIds, LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Booking getByItemId(Long itemId, Long userId, LocalDateTime time) {
         return repository.findByItemIdAndBookerIdAndEndBefore(itemId, userId, time)
                 .orElseThrow(() ->
                         new ValidationException("Бронирование не найдено"));
     }
 
+    private Map<Long, BookingDto> groupByItem(List<Booking> bookings) {
+        Map<Long, BookingDto> result = new HashMap<>();
+        for (Booking booking : bookings) {
+            result.put(booking.getItem().getId(), bookingMapper.convertToDto(booking));
+        }
+        return result;
+    }
+
+    private Stream<BookingShortDto> stream(Specification<Booking> owner, String state, Integer from,
+                                           Integer size) {
+        return repository.streamAll(owner.and(BookingSpecifications.byState(BookingState.valueOf(state),
+                LocalDateTime.now())), getPagination(from, size));
+    }
+
+    private List<BookingShortDto> findAfter(Specification<Booking> owner, String state, String cursor,
+                                            Integer size) {
+        Specification<Booking> specification = owner
+                .and(BookingSpecifications.byState(BookingState.valueOf(state), LocalDateTime.now()))
+                .and(BookingSpecifications.after(checkCursor(cursor)));
+        return repository.findFirst(specification, getKeysetSorting(), size);
+    }
+
+    private Cursor checkCursor(String token) {
+        Cursor cursor = Cursor.decode(token);
+        if (cursor != null && cursor.getKey() == null) {
+            throw new ValidationException("Некорректный курсор: " + token);
+        }
+        return cursor;
+    }
+
+    private Cursor getCursor(BookingShortDto booking) {
+        return new Cursor(booking.getEnd(), booking.getId());
+    }
+
     private void checkDate(Booking booking) {
         if (booking.getEnd().isBefore(booking.getStart())) {
             throw new ValidationException("Дата конца аренды не может быть раньше даты начала аренды");
         }
     }
 
+    private boolean isOverlap(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())
+                && String.valueOf(sqlException.getMessage()).contains(OVERLAP_CONSTRAINT);
+    }
+
     private Booking checkBooking(Long bookingId) {
         return repository.findById(bookingId)
                 .orElseThrow(() ->
@@ -169,4 +298,8 @@ public class BookingServiceImpl implements BookingService {
     private Sort getSorting() {
         return Sort.by(Sort.Direction.DESC, "end");
     }
+
+    private Sort getKeysetSorting() {
+        return Sort.by(Sort.Direction.DESC, "end", "id");
+    }
 }
\ No newline at end of file
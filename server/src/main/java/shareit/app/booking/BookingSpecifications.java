@@ -0,0 +1,40 @@
+package shareit.app.booking;
+
+import org.springframework.data.jpa.domain.Specification;
+import shareit.app.util.Cursor;
+
+import java.time.LocalDateTime;
+
+public final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> byBooker(Long bookerId) {
+        return (root, query, cb) -> cb.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    public static Specification<Booking> byItemOwner(Long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("ownerId"), ownerId);
+    }
+
+    public static Specification<Booking> byState(BookingState state, LocalDateTime now) {
+        return (root, query, cb) -> switch (state) {
+            case ALL -> null;
+            case CURRENT -> cb.and(cb.lessThan(root.get("start"), now), cb.greaterThan(root.get("end"), now));
+            case PAST -> cb.lessThan(root.get("end"), now);
+            case FUTURE -> cb.and(cb.greaterThan(root.get("start"), now), cb.greaterThan(root.get("end"), now));
+            case WAITING -> cb.equal(root.get("status"), BookingStatus.WAITING);
+            case REJECTED -> cb.equal(root.get("status"), BookingStatus.REJECTED);
+        };
+    }
+
+    /**
+     * Строки строго после курсора в порядке (end DESC, id DESC).
+     */
+    public static Specification<Booking> after(Cursor cursor) {
+        return (root, query, cb) -> cursor == null ? null : cb.or(
+                cb.lessThan(root.get("end"), cursor.getKey()),
+                cb.and(cb.equal(root.get("end"), cursor.getKey()), cb.lessThan(root.get("id"), cursor.getId())));
+    }
+}
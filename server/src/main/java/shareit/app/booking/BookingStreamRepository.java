@@ -0,0 +1,22 @@
+package shareit.app.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import shareit.app.booking.dto.BookingShortDto;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingStreamRepository {
+
+    /**
+     * Краткие бронирования, читаемые курсором JDBC. Поток нужно прочитать внутри транзакции.
+     */
+    Stream<BookingShortDto> streamAll(Specification<Booking> specification, Pageable pageable);
+
+    /**
+     * Первые {@code limit} кратких бронирований в заданном порядке.
+     */
+    List<BookingShortDto> findFirst(Specification<Booking> specification, Sort sort, int limit);
+}
@@ -0,0 +1,67 @@
+package shareit.app.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.AllArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import shareit.app.booking.dto.BookingShortDto;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@AllArgsConstructor
+public class BookingStreamRepositoryImpl implements BookingStreamRepository {
+
+    private static final int FETCH_SIZE = 100;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<BookingShortDto> streamAll(Specification<Booking> specification, Pageable pageable) {
+        return select(specification, pageable.getSort())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultStream();
+    }
+
+    @Override
+    public List<BookingShortDto> findFirst(Specification<Booking> specification, Sort sort, int limit) {
+        return select(specification, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Те же столбцы, что в {@link BookingRepository#SHORT}.
+     */
+    private TypedQuery<BookingShortDto> select(Specification<Booking> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingShortDto> query = cb.createQuery(BookingShortDto.class);
+        Root<Booking> root = query.from(Booking.class);
+        Path<Object> item = root.get("item");
+        query.select(cb.construct(BookingShortDto.class,
+                root.get("id"),
+                root.get("start"),
+                root.get("end"),
+                root.get("status"),
+                item.get("id"),
+                item.get("name"),
+                root.get("booker").get("id")));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+}
@@ -3,6 +3,7 @@ package shareit.app.item;
 import jakarta.persistence.*;
 import lombok.*;
 import shareit.app.user.User;
+import shareit.app.util.SnowflakeId;
 
 import java.time.LocalDateTime;
 
@@ -16,7 +17,7 @@ import java.time.LocalDateTime;
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     @Column(name = "comment_id")
     private Long id;
 
@@ -1,5 +1,6 @@
 package shareit.app.item;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -7,6 +8,7 @@ import shareit.app.booking.BookingService;
 import shareit.app.item.dto.CommentDto;
 import shareit.app.user.UserMapper;
 import shareit.app.user.UserService;
+import shareit.app.util.MetricsConfig;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,6 +16,7 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @AllArgsConstructor
 public class CommentServiceImpl implements CommentService {
 
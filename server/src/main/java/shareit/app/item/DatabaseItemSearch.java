@@ -0,0 +1,44 @@
+package shareit.app.item;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import shareit.app.item.dto.ItemDto;
+import shareit.app.util.OffsetPageRequest;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.backend", havingValue = "database", matchIfMissing = true)
+@AllArgsConstructor
+public class DatabaseItemSearch implements ItemSearch {
+
+    private final ItemRepository repository;
+    private final ItemMapper itemMapper;
+
+    @Override
+    public List<ItemDto> search(String text, Integer from, Integer size) {
+        return itemMapper.convertToDto(repository.getAllByText(escapeLikePattern(text), text,
+                new OffsetPageRequest(from, size, Sort.unsorted())));
+    }
+
+    @Override
+    public Stream<ItemDto> stream(String text, Integer from, Integer size) {
+        return repository.streamAllByText(escapeLikePattern(text), text,
+                        new OffsetPageRequest(from, size, Sort.unsorted()))
+                .map(itemMapper::convertToDto);
+    }
+
+    @Override
+    public void index(Item item) {
+        // Триграммные индексы поддерживает Postgres
+    }
+
+    private String escapeLikePattern(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,245 @@
+package shareit.app.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import shareit.app.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс по n-граммам (до трёх символов) названий и описаний предметов в нижнем регистре.
+ * Индексируются только доступные предметы. Результаты упорядочены как в {@link DatabaseItemSearch}: по
+ * триграммному сходству {@code similarity} из pg_trgm с названием или описанием, затем по id.
+ * <p>
+ * Индекс строится при старте и живёт в памяти своего экземпляра сервера: изменения, сделанные
+ * другими экземплярами или в обход {@link ItemService}, он не видит до перезапуска. При нескольких
+ * экземплярах нужен поиск {@code shareit.search.backend=database}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.backend", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryItemSearch implements ItemSearch {
+
+    private static final int GRAM = 3;
+
+    private final ItemRepository repository;
+    private final ItemMapper itemMapper;
+    private final Map<String, LongPostings> postings = new HashMap<>();
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        int count;
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            items.clear();
+            List<ItemDto> available = repository.getAllAvailable();
+            available.forEach(this::put);
+            count = available.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Построен индекс поиска по {} предметам", count);
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Integer from, Integer size) {
+        Set<String> trigrams = getTrigrams(text);
+        List<ItemDto> found = new ArrayList<>();
+        Map<Long, Float> ranks = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (long id : findCandidates(text)) {
+                IndexedItem item = items.get(id);
+                if (item.matches(text)) {
+                    found.add(item.item());
+                    ranks.put(id, item.rank(trigrams));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        found.sort(Comparator.comparing((ItemDto item) -> ranks.get(item.getId())).reversed()
+                .thenComparing(ItemDto::getId));
+        return found.subList(Math.min(from, found.size()), Math.min(from + size, found.size()));
+    }
+
+    /**
+     * Внутри транзакции изменение попадает в индекс только после коммита, чтобы откаченные
+     * изменения не находились поиском.
+     */
+    @Override
+    public void index(Item item) {
+        ItemDto itemDto = itemMapper.convertToDto(item);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update(itemDto);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update(itemDto);
+            }
+        });
+    }
+
+    private void update(ItemDto itemDto) {
+        lock.writeLock().lock();
+        try {
+            IndexedItem indexed = items.get(itemDto.getId());
+            if (indexed != null && isSame(indexed.item(), itemDto)) {
+                return;
+            }
+            if (indexed != null) {
+                remove(indexed.item());
+            }
+            if (Boolean.TRUE.equals(itemDto.getAvailable())) {
+                put(itemDto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long[] findCandidates(String text) {
+        if (text.length() <= GRAM) {
+            LongPostings found = postings.get(text);
+            return found == null ? new long[0] : found.toArray();
+        }
+        List<LongPostings> found = new ArrayList<>();
+        for (String gram : getGrams(text, GRAM)) {
+            LongPostings posting = postings.get(gram);
+            if (posting == null) {
+                return new long[0];
+            }
+            found.add(posting);
+        }
+        found.sort(Comparator.comparingInt(LongPostings::size));
+        long[] candidates = found.get(0).toArray();
+        for (int i = 1; i < found.size() && candidates.length > 0; i++) {
+            candidates = found.get(i).intersect(candidates);
+        }
+        return candidates;
+    }
+
+    private void put(ItemDto item) {
+        String name = lower(item.getName());
+        String description = lower(item.getDescription());
+        items.put(item.getId(), new IndexedItem(item, name, description, getTrigrams(name),
+                getTrigrams(description)));
+        for (String gram : getItemGrams(item)) {
+            postings.computeIfAbsent(gram, key -> new LongPostings()).add(item.getId());
+        }
+    }
+
+    private void remove(ItemDto item) {
+        items.remove(item.getId());
+        for (String gram : getItemGrams(item)) {
+            LongPostings posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(item.getId());
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private Set<String> getItemGrams(ItemDto item) {
+        Set<String> grams = new HashSet<>();
+        for (int length = 1; length <= GRAM; length++) {
+            grams.addAll(getGrams(lower(item.getName()), length));
+            grams.addAll(getGrams(lower(item.getDescription()), length));
+        }
+        return grams;
+    }
+
+    private Set<String> getGrams(String text, int length) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + length <= text.length(); i++) {
+            grams.add(text.substring(i, i + length));
+        }
+        return grams;
+    }
+
+    /**
+     * Как {@code similarity} в pg_trgm: доля общих триграмм среди всех триграмм обеих строк.
+     */
+    private static float similarity(Set<String> first, Set<String> second) {
+        if (first.isEmpty() || second.isEmpty()) {
+            return 0;
+        }
+        Set<String> smaller = first.size() <= second.size() ? first : second;
+        Set<String> larger = smaller == first ? second : first;
+        int common = 0;
+        for (String trigram : smaller) {
+            if (larger.contains(trigram)) {
+                common++;
+            }
+        }
+        return (float) common / (first.size() + second.size() - common);
+    }
+
+    /**
+     * Триграммы pg_trgm: текст делится на слова из букв и цифр, к каждому слову добавляются два пробела
+     * в начале и один в конце. Буквы — как у базы с LC_CTYPE в UTF-8; в локали C pg_trgm не считает
+     * буквами кириллицу.
+     */
+    private Set<String> getTrigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            if (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+                word.append(text.charAt(i));
+            } else if (!word.isEmpty()) {
+                trigrams.addAll(getGrams("  " + word + " ", GRAM));
+                word.setLength(0);
+            }
+        }
+        return trigrams;
+    }
+
+    private boolean isSame(ItemDto indexed, ItemDto item) {
+        return Objects.equals(indexed.getName(), item.getName())
+                && Objects.equals(indexed.getDescription(), item.getDescription())
+                && Objects.equals(indexed.getAvailable(), item.getAvailable());
+    }
+
+    private String lower(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+
+    /**
+     * Предмет в индексе вместе с названием и описанием в нижнем регистре и их триграммами, посчитанными
+     * один раз при индексации.
+     */
+    private record IndexedItem(ItemDto item, String name, String description, Set<String> nameTrigrams,
+                               Set<String> descriptionTrigrams) {
+
+        boolean matches(String text) {
+            return name.contains(text) || description.contains(text);
+        }
+
+        float rank(Set<String> trigrams) {
+            return Math.max(similarity(nameTrigrams, trigrams), similarity(descriptionTrigrams, trigrams));
+        }
+    }
+}
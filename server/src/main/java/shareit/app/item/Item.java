@@ -1,9 +1,14 @@
 package shareit.app.item;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import shareit.app.requests.ItemRequest;
 import shareit.app.user.User;
+import shareit.app.util.CacheConfig;
+import shareit.app.util.SnowflakeId;
 
 @Getter
 @Setter
@@ -11,11 +16,14 @@ import shareit.app.user.User;
 @AllArgsConstructor
 @ToString
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.ITEM_REGION)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "items")
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     @Column(name = "item_id")
     private Long id;
     private String name;
@@ -24,11 +32,13 @@ public class Item {
     @Column(name = "is_available")
     private Boolean available;
 
-    @ManyToOne(cascade = CascadeType.MERGE)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     @JoinColumn(name = "owner_id")
     private User owner;
 
-    @ManyToOne(cascade = CascadeType.MERGE)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     @JoinColumn(name = "request_id")
     private ItemRequest request;
 }
@@ -1,12 +1,23 @@
 package shareit.app.item;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import shareit.app.item.dto.CommentDto;
 import shareit.app.item.dto.ItemDto;
 import shareit.app.item.dto.OwnerItemDto;
+import shareit.app.util.NdjsonResponses;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
 
 @RestController
 @RequestMapping("/items")
@@ -14,6 +25,8 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService service;
+    private final NdjsonResponses ndjson;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ItemDto add(@RequestHeader("X-Sharer-User-Id") Long userId,
@@ -21,6 +34,18 @@ public class ItemController {
         return service.add(userId, itemDto);
     }
 
+    /**
+     * Принимает JSON-массив или NDJSON и читает предметы по мере вставки, не собирая тело в список.
+     */
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public List<Long> addAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                             InputStream body) throws IOException {
+        try (MappingIterator<ItemDto> items = objectMapper.readerFor(ItemDto.class).readValues(body)) {
+            return service.addAll(userId,
+                    StreamSupport.stream(Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED), false));
+        }
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@PathVariable Long itemId,
                           @RequestHeader("X-Sharer-User-Id") Long ownerId,
@@ -35,10 +60,24 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<OwnerItemDto> getByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                         @RequestParam(value = "from") Integer from,
-                                         @RequestParam(value = "size") Integer size) {
-        return service.getByOwner(ownerId, from, size);
+    public ResponseEntity<List<OwnerItemDto>> getByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                         @RequestParam(value = "from", defaultValue = "0")
+                                                         Integer from,
+                                                         @RequestParam(value = "size") Integer size,
+                                                         @RequestParam(value = "cursor", required = false)
+                                                         String cursor) {
+        if (cursor != null) {
+            return service.getByOwnerAfter(ownerId, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(service.getByOwner(ownerId, from, size));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestParam(value = "from", defaultValue = "0") Integer from,
+            @RequestParam(value = "size") Integer size) {
+        return ndjson.of(service.streamByOwner(ownerId, from, size));
     }
 
     @GetMapping("/search")
@@ -49,6 +88,15 @@ public class ItemController {
         return service.searchByText(userId, text, from, size);
     }
 
+    @GetMapping(path = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByText(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(required = false) String text,
+            @RequestParam(value = "from") Integer from,
+            @RequestParam(value = "size") Integer size) {
+        return ndjson.of(service.streamByText(userId, text, from, size));
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@PathVariable Long itemId,
                                  @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -0,0 +1,144 @@
+package shareit.app.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import shareit.app.item.dto.ItemDto;
+import shareit.app.util.Batches;
+import shareit.app.util.CacheConfig;
+import shareit.app.util.Snowflake;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Вставляет предметы одного владельца через JDBC вместо {@code save} на каждый предмет. Id выдаёт тот же
+ * {@link Snowflake}, что и для сущностей; строки идут JDBC-батчами, а после
+ * {@code shareit.items.import.copy-threshold} строк — через {@code COPY ... FROM STDIN}. Вся загрузка —
+ * одна транзакция.
+ */
+@Component
+public class ItemImporter {
+
+    private static final String INSERT = "INSERT INTO items " +
+            "(item_id, name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String COPY = "COPY items " +
+            "(item_id, name, description, is_available, owner_id, request_id) FROM STDIN (FORMAT csv)";
+
+    private final JdbcTemplate jdbc;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemMapper itemMapper;
+    private final Snowflake snowflake;
+    private final int batchSize;
+    private final int copyThreshold;
+
+    public ItemImporter(JdbcTemplate jdbc,
+                        EntityManagerFactory entityManagerFactory,
+                        ItemMapper itemMapper,
+                        @Value("${shareit.id.node}") int node,
+                        @Value("${shareit.items.import.batch-size:1000}") int batchSize,
+                        @Value("${shareit.items.import.copy-threshold:10000}") int copyThreshold) {
+        this.jdbc = jdbc;
+        this.entityManagerFactory = entityManagerFactory;
+        this.itemMapper = itemMapper;
+        this.snowflake = Snowflake.forNode(node);
+        this.batchSize = batchSize;
+        this.copyThreshold = copyThreshold;
+    }
+
+    /**
+     * Возвращает вставленные предметы в исходном порядке, с заполненными id.
+     */
+    @Transactional
+    public List<Item> insert(Long ownerId, Stream<ItemDto> items) {
+        List<Item> inserted = new ArrayList<>();
+        try (Stream<List<Item>> batches = Batches.of(items.map(itemDto -> toItem(ownerId, itemDto)), batchSize)) {
+            batches.forEach(batch -> {
+                if (inserted.size() >= copyThreshold) {
+                    copy(batch);
+                } else {
+                    insert(batch);
+                }
+                inserted.addAll(batch);
+            });
+        }
+        if (inserted.stream().anyMatch(item -> item.getRequest() != null)) {
+            evictItemsByRequestAfterCommit();
+        }
+        return inserted;
+    }
+
+    private Item toItem(Long ownerId, ItemDto itemDto) {
+        Item item = itemMapper.convertFromDto(itemDto);
+        item.setId(snowflake.next());
+        item.getOwner().setId(ownerId);
+        return item;
+    }
+
+    private void insert(List<Item> batch) {
+        jdbc.batchUpdate(INSERT, batch, batch.size(), (statement, item) -> {
+            statement.setLong(1, item.getId());
+            statement.setString(2, item.getName());
+            statement.setString(3, item.getDescription());
+            statement.setObject(4, item.getAvailable(), Types.BOOLEAN);
+            statement.setLong(5, item.getOwner().getId());
+            statement.setObject(6, item.getRequest() == null ? null : item.getRequest().getId(), Types.BIGINT);
+        });
+    }
+
+    private void copy(List<Item> batch) {
+        String csv = batch.stream()
+                .map(this::toCsv)
+                .collect(Collectors.joining());
+        jdbc.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY, new StringReader(csv));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private String toCsv(Item item) {
+        return item.getId() + "," +
+                quote(item.getName()) + "," +
+                quote(item.getDescription()) + "," +
+                (item.getAvailable() == null ? "" : item.getAvailable()) + "," +
+                item.getOwner().getId() + "," +
+                (item.getRequest() == null ? "" : item.getRequest().getId()) + "\n";
+    }
+
+    /**
+     * В формате CSV пустое значение без кавычек — NULL, в кавычках — пустая строка.
+     */
+    private String quote(String value) {
+        return value == null ? "" : '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Вставка через JDBC не обновляет метки таблиц Hibernate, и без вытеснения закэшированные
+     * результаты {@code getAllByRequestId} остались бы действительными.
+     */
+    private void evictItemsByRequestAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache()
+                        .unwrap(org.hibernate.Cache.class)
+                        .evictQueryRegion(CacheConfig.ITEMS_BY_REQUEST_REGION);
+            }
+        });
+    }
+}
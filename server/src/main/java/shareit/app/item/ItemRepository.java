@@ -1,25 +1,72 @@
 package shareit.app.item;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import shareit.app.item.dto.ItemDto;
+import shareit.app.util.CacheConfig;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> getAllByOwnerId(Long ownerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"request", "request.requester"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<Item> streamAllByOwnerId(Long ownerId, Pageable pageable);
+
+    List<Item> getAllByOwnerIdAndIdGreaterThan(Long ownerId, Long itemId, Pageable pageable);
+
     Optional<Item> getByIdAndOwnerId(Long itemId, Long ownerId);
 
+    /**
+     * pattern — текст с экранированными для LIKE символами, text — тот же текст без экранирования для similarity.
+     */
     @Query(value = "SELECT * " +
             "FROM items " +
-            "WHERE (POSITION(?1 IN LOWER(name)) > 0 OR POSITION(?1 IN LOWER(description)) > 0)" +
-            "AND is_available", nativeQuery = true)
-    List<Item> getAllByText(String text, Pageable pageable);
+            "WHERE (LOWER(name) LIKE CONCAT('%', ?1, '%') OR LOWER(description) LIKE CONCAT('%', ?1, '%')) " +
+            "AND is_available " +
+            "ORDER BY GREATEST(similarity(LOWER(name), ?2), similarity(LOWER(description), ?2)) DESC, item_id",
+            nativeQuery = true)
+    List<Item> getAllByText(String pattern, String text, Pageable pageable);
 
+    @Query(value = "SELECT * " +
+            "FROM items " +
+            "WHERE (LOWER(name) LIKE CONCAT('%', ?1, '%') OR LOWER(description) LIKE CONCAT('%', ?1, '%')) " +
+            "AND is_available " +
+            "ORDER BY GREATEST(similarity(LOWER(name), ?2), similarity(LOWER(description), ?2)) DESC, item_id",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<Item> streamAllByText(String pattern, String text, Pageable pageable);
+
+    @Query("SELECT new shareit.app.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id) " +
+            "FROM Item i " +
+            "LEFT JOIN i.request r " +
+            "WHERE i.available = true " +
+            "ORDER BY i.id")
+    List<ItemDto> getAllAvailable();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.ITEMS_BY_REQUEST_REGION)
+    })
     List<Item> getAllByRequestId(Long requestId);
+
+    @Query("SELECT i " +
+            "FROM Item i " +
+            "JOIN FETCH i.owner " +
+            "JOIN FETCH i.request r " +
+            "JOIN FETCH r.requester " +
+            "WHERE r.id IN ?1")
+    List<Item> getAllByRequestIdIn(Collection<Long> requestIds);
 }
@@ -0,0 +1,17 @@
+package shareit.app.item;
+
+import shareit.app.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ItemSearch {
+
+    List<ItemDto> search(String text, Integer from, Integer size);
+
+    default Stream<ItemDto> stream(String text, Integer from, Integer size) {
+        return search(text, from, size).stream();
+    }
+
+    void index(Item item);
+}
@@ -3,24 +3,46 @@ package shareit.app.item;
 import shareit.app.item.dto.CommentDto;
 import shareit.app.item.dto.ItemDto;
 import shareit.app.item.dto.OwnerItemDto;
+import shareit.app.util.CursorPage;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public interface ItemService {
 
     ItemDto add(Long userId, ItemDto item);
 
+    /**
+     * Добавляет предметы одного владельца пакетами и возвращает их id в порядке поступления.
+     */
+    List<Long> addAll(Long userId, Stream<ItemDto> items);
+
     ItemDto update(Long itemId, Long ownerId, ItemDto item);
 
     OwnerItemDto getById(Long userId, Long itemId);
 
     List<OwnerItemDto> getByOwner(Long ownerId, Integer from, Integer size);
 
+    /**
+     * Проверяет аргументы сразу, а предметы читает при вызове поставщика — в транзакции,
+     * в которой результат записывается в ответ.
+     */
+    Supplier<Stream<OwnerItemDto>> streamByOwner(Long ownerId, Integer from, Integer size);
+
+    CursorPage<OwnerItemDto> getByOwnerAfter(Long ownerId, String cursor, Integer size);
+
     List<ItemDto> searchByText(Long userId, String text, Integer from, Integer size);
 
+    Supplier<Stream<ItemDto>> streamByText(Long userId, String text, Integer from, Integer size);
+
     Item getItemById(Long itemId);
 
     CommentDto addComment(Long itemId, Long userId, CommentDto commentDto);
 
     List<ItemDto> getAllByRequestId(Long requesterId);
+
+    Map<Long, List<ItemDto>> getAllByRequestIds(Collection<Long> requestIds);
 }
@@ -1,5 +1,6 @@
 package shareit.app.item;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
@@ -8,23 +9,37 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import shareit.app.booking.BookingService;
+import shareit.app.booking.dto.BookingDto;
 import shareit.app.exception.ObjectNotFoundException;
 import shareit.app.item.dto.CommentDto;
 import shareit.app.item.dto.ItemDto;
 import shareit.app.item.dto.OwnerItemDto;
 import shareit.app.user.UserMapper;
 import shareit.app.user.UserService;
+import shareit.app.util.Batches;
+import shareit.app.util.Cursor;
+import shareit.app.util.CursorPage;
+import shareit.app.util.LogIds;
+import shareit.app.util.MetricsConfig;
 import shareit.app.util.OffsetPageRequest;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @AllArgsConstructor(onConstructor_ = {@Lazy})
 public class ItemServiceImpl implements ItemService {
 
+    private static final int BOOKINGS_BATCH = 100;
+
     private final ItemRepository repository;
     private final UserService userService;
     private final BookingService bookingService;
@@ -32,32 +47,49 @@ public class ItemServiceImpl implements ItemService {
     private final ItemMapper itemMapper;
     private final UserMapper userMapper;
     private final OwnerItemMapper ownerItemMapper;
+    private final ItemSearch itemSearch;
+    private final ItemImporter importer;
 
     @Override
     public ItemDto add(Long userId, ItemDto itemDto) {
-        userService.getById(userId);
+        userService.requireExists(userId);
         Item item = itemMapper.convertFromDto(itemDto);
         item.getOwner().setId(userId);
         repository.save(item);
+        itemSearch.index(item);
         log.info("Добавлен предмет {}", item);
         return itemMapper.convertToDto(item);
     }
 
+    @Override
+    public List<Long> addAll(Long userId, Stream<ItemDto> itemDtos) {
+        userService.requireExists(userId);
+        List<Item> items = importer.insert(userId, itemDtos);
+        items.forEach(itemSearch::index);
+        List<Long> ids = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        log.info("Добавлены предметы {} пользователя {}", LogIds.of(ids, id -> id), userId);
+        return ids;
+    }
+
     @Override
     @Transactional
     public ItemDto update(Long itemId, Long ownerId, ItemDto itemDto) {
-        userService.getById(ownerId);
+        userService.requireExists(ownerId);
         Item item = repository.getByIdAndOwnerId(itemId, ownerId)
                 .orElseThrow(() ->
                         new ObjectNotFoundException("Предмет с id " + itemId + " не найден"));
         Optional.ofNullable(itemDto.getName()).ifPresent(item::setName);
         Optional.ofNullable(itemDto.getDescription()).ifPresent(item::setDescription);
         Optional.ofNullable(itemDto.getAvailable()).ifPresent(item::setAvailable);
+        itemSearch.index(item);
         log.info("Обновлен предмет {}", item);
         return itemMapper.convertToDto(item);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public OwnerItemDto getById(Long userId, Long itemId) {
         Item item = checkItem(itemId);
         OwnerItemDto itemDto = ownerItemMapper.convertToDto(item);
@@ -71,27 +103,59 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OwnerItemDto> getByOwner(Long ownerId, Integer from, Integer size) {
+        userService.requireExists(ownerId);
         List<OwnerItemDto> items = ownerItemMapper.convertToDto(repository.getAllByOwnerId(ownerId,
                 getPagination(from, size, "id")));
-        for (OwnerItemDto item : items) {
-            item.setLastBooking(bookingService.getLastBooking(item.getId()));
-            item.setNextBooking(bookingService.getNextBooking(item.getId()));
-        }
-        log.info("Получен список предметов {} пользователя {}", items, userService.getById(ownerId));
+        setBookings(items);
+        log.info("Получены предметы {} пользователя {}", LogIds.of(items, OwnerItemDto::getId), ownerId);
         return items;
     }
 
     @Override
+    public Supplier<Stream<OwnerItemDto>> streamByOwner(Long ownerId, Integer from, Integer size) {
+        userService.requireExists(ownerId);
+        log.info("Потоковая выдача предметов пользователя {}", ownerId);
+        return () -> Batches.of(repository.streamAllByOwnerId(ownerId, getPagination(from, size, "id"))
+                        .map(ownerItemMapper::convertToDto), BOOKINGS_BATCH)
+                .flatMap(items -> {
+                    setBookings(items);
+                    return items.stream();
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OwnerItemDto> getByOwnerAfter(Long ownerId, String cursor, Integer size) {
+        userService.requireExists(ownerId);
+        Cursor after = Cursor.decode(cursor);
+        List<OwnerItemDto> items = ownerItemMapper.convertToDto(repository.getAllByOwnerIdAndIdGreaterThan(ownerId,
+                after == null ? 0L : after.getId(), getPagination(0, size, "id")));
+        setBookings(items);
+        log.info("Получено {} предметов после курсора {} пользователя {}", items.size(), cursor, ownerId);
+        return CursorPage.of(items, size, item -> new Cursor(null, item.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> searchByText(Long userId, String text, Integer from, Integer size) {
-        userService.getById(userId);
+        userService.requireExists(userId);
         text = text.toLowerCase().trim();
-        List<Item> items = new ArrayList<>();
+        List<ItemDto> items = new ArrayList<>();
         if (!text.isEmpty()) {
-            items = repository.getAllByText(text, getPagination(from, size, "item_id"));
+            items = itemSearch.search(text, from, size);
         }
-        log.info("Получен список предметов {} по поиску {}", items, text);
-        return itemMapper.convertToDto(items);
+        log.info("Получены предметы {} по поиску {}", LogIds.of(items, ItemDto::getId), text);
+        return items;
+    }
+
+    @Override
+    public Supplier<Stream<ItemDto>> streamByText(Long userId, String text, Integer from, Integer size) {
+        userService.requireExists(userId);
+        String query = text.toLowerCase().trim();
+        log.info("Потоковая выдача предметов по поиску {}", query);
+        return () -> query.isEmpty() ? Stream.empty() : itemSearch.stream(query, from, size);
     }
 
     @Override
@@ -100,19 +164,48 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getAllByRequestId(Long requestId) {
-        List<Item> items = repository.getAllByRequestId(requestId);
-        log.info("Получен список предметов {} по запросу {}", items, requestId);
-        return items == null ? new ArrayList<>() : itemMapper.convertToDto(items);
+        List<Item> found = repository.getAllByRequestId(requestId);
+        List<ItemDto> items = found == null ? new ArrayList<>() : itemMapper.convertToDto(found);
+        log.info("Получены предметы {} по запросу {}", LogIds.of(items, ItemDto::getId), requestId);
+        return items;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<ItemDto>> getAllByRequestIds(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<ItemDto>> items = repository.getAllByRequestIdIn(requestIds)
+                .stream()
+                .map(itemMapper::convertToDto)
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        log.info("Получены предметы для {} запросов", requestIds.size());
+        return items;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Item getItemById(Long itemId) {
         Item item = checkItem(itemId);
         item.setOwner(userMapper.convertFromDto(userService.getById(item.getOwner().getId())));
         return item;
     }
 
+    private void setBookings(List<OwnerItemDto> items) {
+        List<Long> itemIds = items.stream()
+                .map(OwnerItemDto::getId)
+                .collect(Collectors.toList());
+        Map<Long, BookingDto> lastBookings = bookingService.getLastBookings(itemIds);
+        Map<Long, BookingDto> nextBookings = bookingService.getNextBookings(itemIds);
+        for (OwnerItemDto item : items) {
+            item.setLastBooking(lastBookings.get(item.getId()));
+            item.setNextBooking(nextBookings.get(item.getId()));
+        }
+    }
+
     private Item checkItem(Long itemId) {
         return repository.findById(itemId)
                 .orElseThrow(() ->
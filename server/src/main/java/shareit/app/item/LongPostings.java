@@ -0,0 +1,78 @@
+package shareit.app.item;
+
+import java.util.Arrays;
+
+/**
+ * Упорядоченное множество id предметов на массиве примитивов. Id по возрастанию (как при построении
+ * индекса) дописываются в конец без сдвига.
+ */
+class LongPostings {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    void add(long id) {
+        if (size == 0 || id > ids[size - 1]) {
+            append(id);
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return;
+        }
+        pos = -pos - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        ids[pos] = id;
+        size++;
+    }
+
+    private void append(long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    void remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    long[] intersect(long[] other) {
+        long[] result = new long[Math.min(size, other.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size && j < other.length) {
+            if (ids[i] < other[j]) {
+                i++;
+            } else if (ids[i] > other[j]) {
+                j++;
+            } else {
+                result[k++] = ids[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+}
@@ -1,8 +1,13 @@
 package shareit.app.requests;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import shareit.app.user.User;
+import shareit.app.util.CacheConfig;
+import shareit.app.util.SnowflakeId;
 
 import java.time.LocalDateTime;
 
@@ -12,11 +17,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @ToString
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.ITEM_REQUEST_REGION)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "requests")
 public class ItemRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     @Column(name = "request_id")
     private Long id;
     private String description;
@@ -1,8 +1,12 @@
 package shareit.app.requests;
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import shareit.app.requests.dto.ItemRequestDto;
+import shareit.app.util.NdjsonResponses;
 
 import java.util.List;
 
@@ -12,6 +16,7 @@ import java.util.List;
 public class ItemRequestController {
 
     private final ItemRequestService service;
+    private final NdjsonResponses ndjson;
 
     @PostMapping
     public ItemRequestDto add(@RequestHeader("X-Sharer-User-Id") Long requesterId,
@@ -25,10 +30,25 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getAllExceptRequester(@RequestHeader("X-Sharer-User-Id") Long requesterId,
-                                                      @RequestParam(value = "from") Integer from,
-                                                      @RequestParam(value = "size") Integer size) {
-        return service.getAllExceptRequester(requesterId, from, size);
+    public ResponseEntity<List<ItemRequestDto>> getAllExceptRequester(@RequestHeader("X-Sharer-User-Id")
+                                                                      Long requesterId,
+                                                                      @RequestParam(value = "from", defaultValue = "0")
+                                                                      Integer from,
+                                                                      @RequestParam(value = "size") Integer size,
+                                                                      @RequestParam(value = "cursor", required = false)
+                                                                      String cursor) {
+        if (cursor != null) {
+            return service.getAllExceptRequesterAfter(requesterId, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(service.getAllExceptRequester(requesterId, from, size));
+    }
+
+    @GetMapping(path = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllExceptRequester(
+            @RequestHeader("X-Sharer-User-Id") Long requesterId,
+            @RequestParam(value = "from", defaultValue = "0") Integer from,
+            @RequestParam(value = "size") Integer size) {
+        return ndjson.of(service.streamAllExceptRequester(requesterId, from, size));
     }
 
     @GetMapping("/{requestId}")
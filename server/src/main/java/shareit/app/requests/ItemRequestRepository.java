@@ -1,17 +1,38 @@
 package shareit.app.requests;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
+    @EntityGraph(attributePaths = "requester")
     List<ItemRequest> findAllByRequesterId(Long requesterId, Sort sort);
 
+    @EntityGraph(attributePaths = "requester")
     List<ItemRequest> findAllByRequesterIdNot(Long requesterId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "requester")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<ItemRequest> streamAllByRequesterIdNot(Long requesterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "requester")
+    @Query("SELECT r " +
+            "FROM ItemRequest r " +
+            "WHERE r.requester.id <> ?1 " +
+            "AND (r.created < ?2 OR (r.created = ?2 AND r.id < ?3))")
+    List<ItemRequest> findAllByRequesterIdNotAfter(Long requesterId, LocalDateTime created, Long requestId,
+                                                   Pageable pageable);
+
 }
@@ -1,8 +1,11 @@
 package shareit.app.requests;
 
 import shareit.app.requests.dto.ItemRequestDto;
+import shareit.app.util.CursorPage;
 
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public interface ItemRequestService {
 
@@ -12,6 +15,14 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllExceptRequester(Long requesterId, Integer from, Integer size);
 
+    /**
+     * Проверяет аргументы сразу, а запросы читает при вызове поставщика — в транзакции,
+     * в которой результат записывается в ответ.
+     */
+    Supplier<Stream<ItemRequestDto>> streamAllExceptRequester(Long requesterId, Integer from, Integer size);
+
+    CursorPage<ItemRequestDto> getAllExceptRequesterAfter(Long requesterId, String cursor, Integer size);
+
     ItemRequestDto getById(Long userId, Long requestId);
 
 }
@@ -1,25 +1,42 @@
 package shareit.app.requests;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import shareit.app.exception.ObjectNotFoundException;
+import shareit.app.exception.ValidationException;
 import shareit.app.item.ItemService;
+import shareit.app.item.dto.ItemDto;
 import shareit.app.requests.dto.ItemRequestDto;
 import shareit.app.user.UserService;
+import shareit.app.util.Batches;
+import shareit.app.util.Cursor;
+import shareit.app.util.CursorPage;
+import shareit.app.util.LogIds;
+import shareit.app.util.MetricsConfig;
 import shareit.app.util.OffsetPageRequest;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @AllArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
 
+    private static final int ITEMS_BATCH = 100;
+
     private final ItemRequestRepository repository;
     private final UserService userService;
     private final ItemService itemService;
@@ -27,43 +44,76 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemRequestDto add(Long userId, ItemRequestDto requestDto) {
-        userService.getById(userId);
+        userService.requireExists(userId);
         ItemRequest request = requestMapper.convertFromDto(requestDto);
         request.getRequester().setId(userId);
-        request.setCreated(LocalDateTime.now());
+        // Postgres хранит микросекунды: без усечения ответ и курсор расходились бы с прочитанным из базы
+        request.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
         repository.save(request);
         log.info("Добавлен запрос вещи {}", request);
         return requestMapper.convertToDto(request);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllByRequester(Long requesterId) {
-        userService.getById(requesterId);
+        userService.requireExists(requesterId);
         return setItems(repository.findAllByRequesterId(requesterId, getSorting()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllExceptRequester(Long requesterId, Integer from, Integer size) {
-        userService.getById(requesterId);
+        userService.requireExists(requesterId);
         return setItems(repository.findAllByRequesterIdNot(requesterId, getPagination(from, size)));
     }
 
     @Override
+    public Supplier<Stream<ItemRequestDto>> streamAllExceptRequester(Long requesterId, Integer from, Integer size) {
+        userService.requireExists(requesterId);
+        log.info("Потоковая выдача запросов для пользователя {}", requesterId);
+        return () -> Batches.of(repository.streamAllByRequesterIdNot(requesterId, getPagination(from, size)),
+                        ITEMS_BATCH)
+                .flatMap(requests -> setItems(requests).stream());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemRequestDto> getAllExceptRequesterAfter(Long requesterId, String cursor, Integer size) {
+        userService.requireExists(requesterId);
+        Cursor after = Cursor.decode(cursor);
+        if (after != null && after.getKey() == null) {
+            throw new ValidationException("Некорректный курсор: " + cursor);
+        }
+        Pageable pageable = new OffsetPageRequest(0, size, getKeysetSorting());
+        List<ItemRequest> requests = after == null
+                ? repository.findAllByRequesterIdNot(requesterId, pageable)
+                : repository.findAllByRequesterIdNotAfter(requesterId, after.getKey(), after.getId(), pageable);
+        return CursorPage.of(setItems(requests), size, request -> new Cursor(request.getCreated(), request.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto getById(Long userId, Long requestId) {
-        userService.getById(userId);
+        userService.requireExists(userId);
         ItemRequestDto request = requestMapper.convertToDto(checkRequest(requestId));
         request.setItems(itemService.getAllByRequestId(requestId));
-        log.info("Получен запрос {}", request);
+        log.info("Получен запрос {} с {} предметами", request.getId(), request.getItems().size());
         return request;
     }
 
     public List<ItemRequestDto> setItems(List<ItemRequest> requests) {
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> items = itemService.getAllByRequestIds(requestIds);
         List<ItemRequestDto> requestDtos = new ArrayList<>();
-        for (int i = 0; i < requests.size(); i++) {
-            requestDtos.add(requestMapper.convertToDto(requests.get(i)));
-            requestDtos.get(i).setItems(itemService.getAllByRequestId(requests.get(i).getId()));
+        for (ItemRequest request : requests) {
+            ItemRequestDto requestDto = requestMapper.convertToDto(request);
+            requestDto.setItems(items.getOrDefault(request.getId(), new ArrayList<>()));
+            requestDtos.add(requestDto);
         }
-        log.info("Получен список запросов {}", requestDtos);
+        log.info("Получены запросы {}", LogIds.of(requestDtos, ItemRequestDto::getId));
         return requestDtos;
     }
 
@@ -80,4 +130,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private Sort getSorting() {
         return Sort.by(Sort.Direction.DESC, "created");
     }
+
+    private Sort getKeysetSorting() {
+        return Sort.by(Sort.Direction.DESC, "created", "id");
+    }
 }
\ No newline at end of file
@@ -1,7 +1,12 @@
 package shareit.app.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import shareit.app.util.CacheConfig;
+import shareit.app.util.SnowflakeId;
 
 @Getter
 @Setter
@@ -9,11 +14,14 @@ import lombok.*;
 @AllArgsConstructor
 @ToString
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.USER_REGION)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "users")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     @Column(name = "user_id")
     private Long id;
 
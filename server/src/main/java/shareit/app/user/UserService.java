@@ -12,6 +12,15 @@ public interface UserService {
 
     UserDto getById(Long userId);
 
+    /**
+     * Проверяет существование пользователя, не загружая его. Проверка идёт в основной базе:
+     * пользователь мог только что появиться и ещё не дойти до реплик.
+     *
+     * @return userId
+     * @throws shareit.app.exception.ObjectNotFoundException если пользователь не найден
+     */
+    Long requireExists(Long userId);
+
     List<UserDto> getAll();
 
     void delete(Long userId);
@@ -1,18 +1,27 @@
 package shareit.app.user;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import shareit.app.exception.ObjectNotFoundException;
 import shareit.app.exception.ValidationException;
 import shareit.app.user.dto.UserDto;
+import shareit.app.util.CacheConfig;
+import shareit.app.util.LogIds;
+import shareit.app.util.MetricsConfig;
+import shareit.app.util.ReadYourWrites;
 
 import java.util.List;
 import java.util.Optional;
 
 @Slf4j
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @AllArgsConstructor
 public class UserServiceImpl implements UserService {
 
@@ -32,6 +41,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CachePut(cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto update(Long userId, UserDto userDto) {
         User user = checkUser(userId);
         Optional.ofNullable(userDto.getName()).ifPresent(user::setName);
@@ -41,20 +51,31 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS)
     public UserDto getById(Long userId) {
-        User user = checkUser(userId);
+        User user = ReadYourWrites.readPrimary(() -> checkUser(userId));
         log.info("Получен пользователь {}", user);
         return userMapper.convertToDto(user);
     }
 
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USER_IDS)
+    public Long requireExists(Long userId) {
+        if (!ReadYourWrites.readPrimary(() -> repository.existsById(userId))) {
+            throw new ObjectNotFoundException("Пользователь с id " + userId + " не найден");
+        }
+        return userId;
+    }
+
     @Override
     public List<UserDto> getAll() {
         List<User> users = repository.findAll();
-        log.info("Получен список пользователей {}", users);
+        log.info("Получены пользователи {}", LogIds.of(users, User::getId));
         return userMapper.convertToDto(users);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.USERS, CacheConfig.USER_IDS})
     public void delete(Long userId) {
         User user = checkUser(userId);
         repository.deleteById(userId);
@@ -0,0 +1,44 @@
+package shareit.app.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Лениво разбивает поток на последовательные списки, например чтобы загружать связи строк потока
+ * одним запросом на пачку. Закрытие результата закрывает исходный поток.
+ */
+public final class Batches {
+
+    private Batches() {
+    }
+
+    public static <T> Stream<List<T>> of(Stream<T> stream, int size) {
+        Iterator<T> source = stream.iterator();
+        Iterator<List<T>> batches = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!source.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> batch = new ArrayList<>(size);
+                while (batch.size() < size && source.hasNext()) {
+                    batch.add(source.next());
+                }
+                return batch;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .onClose(stream::close);
+    }
+}
@@ -0,0 +1,48 @@
+package shareit.app.util;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Кэш-аспект оборачивает транзакционный, поэтому {@code @CachePut} и {@code @CacheEvict} срабатывают
+ * только после коммита. Размеры кэшей Spring — в {@code spring.cache.caffeine.spec}; {@link #USER_IDS}
+ * хранит только найденные id.
+ * <p>
+ * Регионы {@code *_REGION} — кэш второго уровня Hibernate (JCache на Caffeine, размеры в
+ * {@code application.conf}). У каждого контекста свой {@code CacheManager}: общий менеджер провайдера
+ * закрылся бы вместе с первым остановленным контекстом.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String USERS = "users";
+    public static final String USER_IDS = "user-ids";
+
+    public static final String USER_REGION = "shareit-user";
+    public static final String ITEM_REGION = "shareit-item";
+    public static final String ITEM_REQUEST_REGION = "shareit-item-request";
+    public static final String COMMENTS_BY_ITEM_REGION = "shareit-comments-by-item";
+    public static final String ITEMS_BY_REQUEST_REGION = "shareit-items-by-request";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-" + UUID.randomUUID()), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,48 @@
+package shareit.app.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import shareit.app.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Непрозрачный токен продолжения для keyset-пагинации: ключ сортировки и id последней строки страницы.
+ * Для выдач, упорядоченных только по id, ключ пуст.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class Cursor {
+
+    public static final String NEXT_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime key;
+    private final Long id;
+
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            String key = value.substring(0, separator);
+            return new Cursor(key.isEmpty() ? null : LocalDateTime.parse(key),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Некорректный курсор: " + token);
+        }
+    }
+
+    public String encode() {
+        String value = (key == null ? "" : key.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
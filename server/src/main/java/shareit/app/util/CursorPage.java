@@ -0,0 +1,36 @@
+package shareit.app.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница keyset-выдачи. Курсор следующей страницы задаётся, только если страница заполнена.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final String next;
+
+    public static <T> CursorPage<T> of(List<T> content, Integer size, Function<T, Cursor> cursor) {
+        if (content.isEmpty() || content.size() < size) {
+            return new CursorPage<>(content, null);
+        }
+        return new CursorPage<>(content, cursor.apply(content.get(content.size() - 1)).encode());
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (next != null) {
+            response.header(Cursor.NEXT_HEADER, next);
+        }
+        return response.body(content);
+    }
+}
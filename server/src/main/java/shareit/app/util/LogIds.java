@@ -0,0 +1,43 @@
+package shareit.app.util;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Аргумент лога, который выводит размер и первые id коллекции вместо её элементов.
+ * Строка собирается, только если сообщение действительно пишется в лог.
+ */
+public final class LogIds {
+
+    private static final int LIMIT = 10;
+
+    private final Collection<?> items;
+    private final Function<Object, ?> id;
+
+    @SuppressWarnings("unchecked")
+    private <T> LogIds(Collection<T> items, Function<? super T, ?> id) {
+        this.items = items;
+        this.id = (Function<Object, ?>) id;
+    }
+
+    public static <T> LogIds of(Collection<T> items, Function<? super T, ?> id) {
+        return new LogIds(items, id);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder().append(items.size()).append(" [");
+        Iterator<?> iterator = items.iterator();
+        for (int i = 0; i < LIMIT && iterator.hasNext(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(id.apply(iterator.next()));
+        }
+        if (items.size() > LIMIT) {
+            builder.append(", ...");
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,38 @@
+package shareit.app.util;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Метрики сверх стандартных метрик Actuator: таймеры сервисов с {@code @Timed} и число запросов
+ * к базе на HTTP-запрос. Теги — имена классов, методов и шаблоны путей, без id.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "shareit.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public QueryCountInterceptor queryCountInterceptor(MeterRegistry registry) {
+        return new QueryCountInterceptor(registry);
+    }
+
+    @Bean
+    public WebMvcConfigurer queryCountConfigurer(QueryCountInterceptor queryCountInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(queryCountInterceptor);
+            }
+        };
+    }
+}
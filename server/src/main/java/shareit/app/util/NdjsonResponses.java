@@ -0,0 +1,68 @@
+package shareit.app.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Пишет выдачу как {@code application/x-ndjson}, по объекту JSON на строку, по мере чтения строк курсором
+ * JDBC. Поток открывается и читается в read-only транзакции в потоке, пишущем ответ, от имени пользователя
+ * запроса (см. {@link ReadYourWrites}). Ответ сбрасывается клиенту после первой строки и затем каждые
+ * {@code FLUSH_ROWS} строк; на тех же строках очищается контекст персистентности, поэтому память не растёт
+ * с размером страницы.
+ */
+@Component
+public class NdjsonResponses {
+
+    private static final int FLUSH_ROWS = 100;
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public NdjsonResponses(ObjectMapper objectMapper, EntityManager entityManager,
+                           PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> of(Supplier<Stream<T>> rows) {
+        Long userId = RequestUser.get();
+        StreamingResponseBody body = out -> RequestUser.runAs(userId, () ->
+                transactionTemplate.executeWithoutResult(status -> write(rows, out)));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private <T> void write(Supplier<Stream<T>> rows, OutputStream out) {
+        try (Stream<T> stream = rows.get()) {
+            int written = 0;
+            for (T row : (Iterable<T>) stream::iterator) {
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write('\n');
+                // Первая строка уходит сразу, чтобы клиент не ждал целой пачки
+                if (++written == 1 || written % FLUSH_ROWS == 0) {
+                    out.flush();
+                    entityManager.clear();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
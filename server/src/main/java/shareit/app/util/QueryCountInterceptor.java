@@ -0,0 +1,82 @@
+package shareit.app.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Считает JDBC-запросы за один HTTP-запрос ({@code shareit.http.server.queries} с тегами {@code method}
+ * и {@code uri}). Батч считается одним запросом. NDJSON-выдача читает строки в другом потоке и не учитывается.
+ */
+@AllArgsConstructor
+public class QueryCountInterceptor implements AsyncHandlerInterceptor, QueryExecutionListener {
+
+    public static final String METRIC = "shareit.http.server.queries";
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (request.getDispatcherType() == DispatcherType.REQUEST) {
+            COUNT.set(new int[1]);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+                                               @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        COUNT.remove();
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+                                @NonNull HttpServletResponse response,
+                                @NonNull Object handler,
+                                Exception ex) {
+        int[] count = COUNT.get();
+        if (count == null) {
+            return;
+        }
+        COUNT.remove();
+        String uri = Optional.ofNullable(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+                .map(Object::toString)
+                .orElse("UNKNOWN");
+        DistributionSummary.builder(METRIC)
+                .description("JDBC statements executed per HTTP request")
+                .baseUnit("queries")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(count[0]);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
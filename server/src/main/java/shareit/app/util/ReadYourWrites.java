@@ -0,0 +1,83 @@
+package shareit.app.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Запоминает пользователей, чьи запросы открывали пишущее соединение с основной базой, чтобы их чтения
+ * тоже шли в основную базу, пока реплики гарантированно не догонят её.
+ * <p>
+ * Запросы без {@code X-Sharer-User-Id} (например, {@code POST /users}) так не отслеживаются, поэтому
+ * чтения, результат которых кэшируется или сразу нужен следующему запросу, выполняются через
+ * {@link #readPrimary}: на реплике их ещё может не быть.
+ */
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private final Cache<Long, Boolean> writers;
+
+    public ReadYourWrites(Duration window) {
+        writers = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * Выполняет чтение на основной базе. Действует на соединения, взятые внутри read, поэтому
+     * вызывать нужно до первого запроса транзакции.
+     */
+    public static <T> T readPrimary(Supplier<T> read) {
+        if (PRIMARY.get() != null) {
+            return read.get();
+        }
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+
+    public boolean mustReadPrimary() {
+        if (PRIMARY.get() != null) {
+            return true;
+        }
+        Long userId = RequestUser.get();
+        return userId != null && writers.getIfPresent(userId) != null;
+    }
+
+    /**
+     * Отмечает текущего пользователя при каждом соединении с основной базой.
+     */
+    public DataSource trackWrites(DataSource primary) {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                markWrite();
+                return super.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                markWrite();
+                return super.getConnection(username, password);
+            }
+        };
+    }
+
+    void markWrite() {
+        Long userId = RequestUser.get();
+        if (userId != null) {
+            writers.put(userId, Boolean.TRUE);
+        }
+    }
+}
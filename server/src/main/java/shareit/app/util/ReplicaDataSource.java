@@ -0,0 +1,74 @@
+package shareit.app.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Соединения для read-only транзакций. Реплики берутся по очереди; реплика, не выдавшая соединение,
+ * пропускается на {@code retryAfter}. Основная база используется, если недоступны все реплики
+ * и если чтение должно видеть последние записи (см. {@link ReadYourWrites}).
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReadYourWrites readYourWrites;
+    private final long retryAfterNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLongArray downUntil;
+
+    public ReplicaDataSource(DataSource primary, List<DataSource> replicas, ReadYourWrites readYourWrites,
+                             Duration retryAfter) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.downUntil = new AtomicLongArray(replicas.size());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (readYourWrites.mustReadPrimary()) {
+            return source.get(primary);
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int replica = (start + i) % replicas.size();
+            long now = System.nanoTime();
+            if (downUntil.get(replica) - now > 0) {
+                continue;
+            }
+            try {
+                return source.get(replicas.get(replica));
+            } catch (SQLException e) {
+                downUntil.set(replica, now + retryAfterNanos);
+                log.warn("Реплика {} недоступна, следующая попытка через {} мс: {}", replica,
+                        retryAfterNanos / 1_000_000, e.toString());
+            }
+        }
+        return source.get(primary);
+    }
+
+    private interface ConnectionSource {
+
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+}
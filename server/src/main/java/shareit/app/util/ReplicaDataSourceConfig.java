@@ -0,0 +1,121 @@
+package shareit.app.util;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Включается, если задана хотя бы одна реплика. Read-only транзакции получают соединение с реплики,
+ * остальные — с основной базы; соединение берётся лениво, когда флаг транзакции уже известен.
+ * Пулы Hikari создаются здесь, а не бинами, чтобы datasource-proxy оборачивал только итоговый
+ * {@code DataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestUserInterceptor());
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig hikariConfig(DataSourceProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setJdbcUrl(properties.determineUrl());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        return config;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaProperties properties) {
+        return new ReadYourWrites(properties.getReadYourWrites());
+    }
+
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties properties, ReadYourWrites readYourWrites) {
+        HibernateJpaDialect dialect = new ReplicaJpaDialect(readYourWrites);
+        HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter() {
+            @Override
+            public HibernateJpaDialect getJpaDialect() {
+                return dialect;
+            }
+        };
+        adapter.setShowSql(properties.isShowSql());
+        Optional.ofNullable(properties.getDatabase()).ifPresent(adapter::setDatabase);
+        Optional.ofNullable(properties.getDatabasePlatform()).ifPresent(adapter::setDatabasePlatform);
+        adapter.setGenerateDdl(properties.isGenerateDdl());
+        return adapter;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariConfig hikariConfig,
+                                 ReplicaProperties properties,
+                                 ReadYourWrites readYourWrites,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = pool(copy(hikariConfig), "primary", meterRegistry);
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Replica replica : properties.getReplicas()) {
+            HikariConfig config = copy(hikariConfig);
+            config.setJdbcUrl(replica.getUrl());
+            Optional.ofNullable(replica.getUsername()).ifPresent(config::setUsername);
+            Optional.ofNullable(replica.getPassword()).ifPresent(config::setPassword);
+            config.setReadOnly(true);
+            replicas.add(pool(config, "replica-" + replicas.size(), meterRegistry));
+        }
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                readYourWrites.trackWrites(primary));
+        dataSource.setReadOnlyDataSource(new ReplicaDataSource(primary, replicas, readYourWrites,
+                properties.getRetryAfter()));
+        return dataSource;
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariConfig copy(HikariConfig config) {
+        HikariConfig copy = new HikariConfig();
+        config.copyStateTo(copy);
+        return copy;
+    }
+
+    private HikariDataSource pool(HikariConfig config, String name, ObjectProvider<MeterRegistry> meterRegistry) {
+        config.setPoolName(name);
+        meterRegistry.ifAvailable(registry ->
+                config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        HikariDataSource pool = new HikariDataSource(config);
+        pools.add(pool);
+        return pool;
+    }
+}
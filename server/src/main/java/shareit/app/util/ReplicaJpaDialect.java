@@ -0,0 +1,67 @@
+package shareit.app.util;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Read-only транзакции, которые читают с реплики, не кладут сущности и результаты запросов в кэш
+ * второго уровня: реплика может отставать, и устаревшая запись осталась бы в кэше до вытеснения.
+ * Читать из кэша они по-прежнему могут. Режим задаётся и сессии, и её свойству
+ * {@code jakarta.persistence.cache.storeMode}, которое {@code find} применяет вместо режима сессии.
+ */
+class ReplicaJpaDialect extends HibernateJpaDialect {
+
+    private final ReadYourWrites readYourWrites;
+
+    ReplicaJpaDialect(ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || readYourWrites.mustReadPrimary()) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        ReplicaTransactionData replicaData = new ReplicaTransactionData(transactionData, session,
+                session.getCacheMode(), session.getProperties().get(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE));
+        session.setCacheMode(CacheMode.GET);
+        session.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        return replicaData;
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData replicaData) {
+            Session session = replicaData.getSession();
+            session.setCacheMode(replicaData.getCacheMode());
+            session.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE,
+                    Optional.ofNullable(replicaData.getStoreMode()).orElse(CacheStoreMode.USE));
+            super.cleanupTransaction(replicaData.getTransactionData());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ReplicaTransactionData {
+
+        private final Object transactionData;
+        private final Session session;
+        private final CacheMode cacheMode;
+        private final Object storeMode;
+    }
+}
@@ -0,0 +1,40 @@
+package shareit.app.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Реплики для read-only транзакций, например {@code shareit.datasource.replicas[0].url=jdbc:postgresql://...}.
+ * Имя пользователя и пароль по умолчанию те же, что у основной базы.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.datasource")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Сколько чтения пользователя идут в основную базу после его записи. Должно превышать отставание реплик.
+     */
+    private Duration readYourWrites = Duration.ofSeconds(5);
+
+    /**
+     * На сколько пропускается реплика, не выдавшая соединение.
+     */
+    private Duration retryAfter = Duration.ofSeconds(10);
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,47 @@
+package shareit.app.util;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.zalando.logbook.HttpRequest;
+import org.zalando.logbook.HttpResponse;
+import org.zalando.logbook.Strategy;
+
+import java.io.IOException;
+import java.util.List;
+
+@Configuration
+@AllArgsConstructor
+@EnableConfigurationProperties(RequestLogProperties.class)
+public class RequestLogConfig implements WebMvcConfigurer {
+
+    private final RequestLogInterceptor requestLogInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestLogInterceptor);
+    }
+
+    /**
+     * Logbook копирует тело ответа в память, чтобы записать его в лог. Для NDJSON это сводит
+     * на нет потоковую выдачу, поэтому такие ответы логируются без тела.
+     */
+    @Bean
+    public Strategy logbookStrategy() {
+        return new Strategy() {
+            @Override
+            public HttpResponse process(HttpRequest request, HttpResponse response) throws IOException {
+                List<String> accept = request.getHeaders().get("Accept");
+                if (accept != null && accept.stream().anyMatch(value ->
+                        value.contains(MediaType.APPLICATION_NDJSON_VALUE))) {
+                    return response.withoutBody();
+                }
+                return response.withBody();
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package shareit.app.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Одна структурированная строка на запрос: эндпоинт, статус, число возвращённых элементов и длительность.
+ * Заменяет логирование целых списков в сервисах. Успешные запросы логируются выборочно,
+ * ответы с ошибкой (4xx и 5xx) — всегда.
+ */
+@Slf4j
+@RestControllerAdvice
+@AllArgsConstructor
+public class RequestLogInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private static final String START = RequestLogInterceptor.class.getName() + ".start";
+    private static final String ENDPOINT = RequestLogInterceptor.class.getName() + ".endpoint";
+    private static final String ITEMS = RequestLogInterceptor.class.getName() + ".items";
+
+    private final RequestLogProperties properties;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            String endpoint = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+            if (properties.isEnabled(endpoint)) {
+                request.setAttribute(ENDPOINT, endpoint);
+                request.setAttribute(START, System.nanoTime());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+                                @NonNull HttpServletResponse response,
+                                @NonNull Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START);
+        if (start == null || !log.isInfoEnabled()) {
+            return;
+        }
+        boolean failed = ex != null || response.getStatus() >= 400;
+        if (!failed && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return;
+        }
+        log.info("endpoint={} method={} uri={} status={} items={} durationMs={}",
+                request.getAttribute(ENDPOINT),
+                request.getMethod(),
+                request.getRequestURI(),
+                response.getStatus(),
+                request.getAttribute(ITEMS),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - (long) start));
+    }
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  @NonNull MethodParameter returnType,
+                                  @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request,
+                                  @NonNull ServerHttpResponse response) {
+        if (body instanceof Collection<?> items && request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(ITEMS, items.size());
+        }
+        return body;
+    }
+}
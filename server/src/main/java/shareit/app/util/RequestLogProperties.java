@@ -0,0 +1,31 @@
+package shareit.app.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Настройки журнала запросов. Эндпоинты задаются как {@code Controller.method},
+ * например {@code shareit.request-log.endpoints.BookingController.getByUserAndState=false}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.request-log")
+public class RequestLogProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Доля логируемых успешных запросов, от 0 до 1. Ответы 4xx и 5xx логируются всегда.
+     */
+    private double sampleRate = 1.0;
+
+    private Map<String, Boolean> endpoints = new HashMap<>();
+
+    public boolean isEnabled(String endpoint) {
+        return enabled && endpoints.getOrDefault(endpoint, true);
+    }
+}
@@ -0,0 +1,44 @@
+package shareit.app.util;
+
+/**
+ * Id из заголовка {@code X-Sharer-User-Id} запроса, который обрабатывает текущий поток,
+ * или null вне запроса.
+ */
+public final class RequestUser {
+
+    public static final String HEADER = "X-Sharer-User-Id";
+
+    private static final ThreadLocal<Long> USER = new ThreadLocal<>();
+
+    private RequestUser() {
+    }
+
+    public static Long get() {
+        return USER.get();
+    }
+
+    static void set(Long userId) {
+        USER.set(userId);
+    }
+
+    static void clear() {
+        USER.remove();
+    }
+
+    /**
+     * Выполняет работу в другом потоке (например, запись потокового ответа) от имени пользователя.
+     */
+    public static void runAs(Long userId, Runnable work) {
+        Long previous = USER.get();
+        USER.set(userId);
+        try {
+            work.run();
+        } finally {
+            if (previous == null) {
+                USER.remove();
+            } else {
+                USER.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package shareit.app.util;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+public class RequestUserInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        String userId = request.getHeader(RequestUser.HEADER);
+        if (request.getDispatcherType() == DispatcherType.REQUEST && userId != null) {
+            try {
+                RequestUser.set(Long.valueOf(userId.trim()));
+            } catch (NumberFormatException e) {
+                RequestUser.clear();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+                                               @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        RequestUser.clear();
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+                                @NonNull HttpServletResponse response,
+                                @NonNull Object handler,
+                                Exception ex) {
+        RequestUser.clear();
+    }
+}
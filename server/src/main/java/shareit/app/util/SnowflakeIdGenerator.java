@@ -0,0 +1,25 @@
+package shareit.app.util;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Берёт номер узла из свойства Hibernate {@value #NODE_SETTING}, которое задаётся из {@code shareit.id.node}.
+ */
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    public static final String NODE_SETTING = "shareit.id.node";
+
+    private volatile Snowflake snowflake;
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        Snowflake generator = snowflake;
+        if (generator == null) {
+            Object node = session.getFactory().getProperties().getOrDefault(NODE_SETTING, "0");
+            generator = Snowflake.forNode(Integer.parseInt(node.toString()));
+            snowflake = generator;
+        }
+        return generator.next();
+    }
+}
@@ -0,0 +1,43 @@
+CREATE TABLE users
+(
+    user_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name    VARCHAR(255),
+    email   VARCHAR(255) UNIQUE
+);
+
+CREATE TABLE requests
+(
+    request_id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    description  VARCHAR(255),
+    requester_id BIGINT REFERENCES users (user_id),
+    create_date  TIMESTAMP
+);
+
+CREATE TABLE items
+(
+    item_id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         VARCHAR(255),
+    description  VARCHAR(255),
+    is_available BOOLEAN,
+    owner_id     BIGINT REFERENCES users (user_id),
+    request_id   BIGINT REFERENCES requests (request_id)
+);
+
+CREATE TABLE bookings
+(
+    booking_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    start_date TIMESTAMP,
+    end_date   TIMESTAMP,
+    item_id    BIGINT REFERENCES items (item_id),
+    booker_id  BIGINT REFERENCES users (user_id),
+    status     VARCHAR(255) CHECK (status IN ('WAITING', 'APPROVED', 'REJECTED', 'CANCELED'))
+);
+
+CREATE TABLE comments
+(
+    comment_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    text        VARCHAR(255),
+    item_id     BIGINT REFERENCES items (item_id),
+    author_id   BIGINT REFERENCES users (user_id),
+    create_date TIMESTAMP
+);
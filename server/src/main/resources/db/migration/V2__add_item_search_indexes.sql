@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX items_name_trgm_idx ON items USING GIN (LOWER(name) gin_trgm_ops);
+CREATE INDEX items_description_trgm_idx ON items USING GIN (LOWER(description) gin_trgm_ops);
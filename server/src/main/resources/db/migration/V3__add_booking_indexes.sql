@@ -0,0 +1,18 @@
+-- Booker listings: findByBookerId*, sorted by end_date DESC
+CREATE INDEX bookings_booker_end_idx ON bookings (booker_id, end_date DESC);
+CREATE INDEX bookings_booker_status_end_idx ON bookings (booker_id, status, end_date DESC);
+CREATE INDEX bookings_booker_start_idx ON bookings (booker_id, start_date);
+
+-- Owner listings: findByItemOwnerId* join items by owner, then bookings by item
+CREATE INDEX items_owner_idx ON items (owner_id, item_id);
+CREATE INDEX bookings_item_end_idx ON bookings (item_id, end_date DESC);
+CREATE INDEX bookings_item_status_end_idx ON bookings (item_id, status, end_date DESC);
+
+-- Last/next booking of an item and the comment eligibility check
+CREATE INDEX bookings_item_start_idx ON bookings (item_id, start_date);
+CREATE INDEX bookings_item_booker_end_idx ON bookings (item_id, booker_id, end_date);
+
+-- Foreign keys used by item, comment and request lookups
+CREATE INDEX items_request_idx ON items (request_id);
+CREATE INDEX comments_item_idx ON comments (item_id);
+CREATE INDEX requests_requester_created_idx ON requests (requester_id, create_date DESC);
@@ -0,0 +1,9 @@
+-- Active bookings of an item must not overlap. Checked by the database on INSERT/UPDATE,
+-- so concurrent requests cannot double-book without any application-level locking.
+-- Ranges are half-open: a booking may start exactly when the previous one ends.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_no_overlap
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+        WHERE (status IN ('WAITING', 'APPROVED'));
@@ -0,0 +1,3 @@
+-- Optimistic locking: every status change bumps the version, see Booking.version.
+ALTER TABLE bookings
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
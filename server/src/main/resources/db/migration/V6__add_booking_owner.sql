@@ -0,0 +1,46 @@
+-- Owner listings filter bookings by the item owner. A copy of items.owner_id on every booking
+-- lets them use one index on bookings instead of joining all items of the owner.
+ALTER TABLE bookings
+    ADD COLUMN owner_id BIGINT REFERENCES users (user_id);
+
+UPDATE bookings b
+SET owner_id = i.owner_id
+FROM items i
+WHERE i.item_id = b.item_id;
+
+-- The item is the source of truth: whatever the writer sends, owner_id is taken from items.
+CREATE FUNCTION bookings_set_owner() RETURNS trigger AS
+$$
+BEGIN
+    SELECT owner_id INTO NEW.owner_id FROM items WHERE item_id = NEW.item_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER bookings_set_owner
+    BEFORE INSERT OR UPDATE OF item_id, owner_id ON bookings
+    FOR EACH ROW
+EXECUTE FUNCTION bookings_set_owner();
+
+-- A change of item owner moves all bookings of the item to the new owner.
+CREATE FUNCTION items_move_bookings() RETURNS trigger AS
+$$
+BEGIN
+    UPDATE bookings SET owner_id = NEW.owner_id WHERE item_id = NEW.item_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER items_move_bookings
+    AFTER UPDATE OF owner_id ON items
+    FOR EACH ROW
+    WHEN (OLD.owner_id IS DISTINCT FROM NEW.owner_id)
+EXECUTE FUNCTION items_move_bookings();
+
+-- Owner listings: findByItemOwnerId*, sorted by end_date DESC, same shape as the booker indexes
+CREATE INDEX bookings_owner_end_idx ON bookings (owner_id, end_date DESC);
+CREATE INDEX bookings_owner_status_end_idx ON bookings (owner_id, status, end_date DESC);
+CREATE INDEX bookings_owner_start_idx ON bookings (owner_id, start_date);
+
+-- Served only the owner listings through the items join
+DROP INDEX bookings_item_status_end_idx;
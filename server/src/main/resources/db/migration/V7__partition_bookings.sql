@@ -0,0 +1,165 @@
+-- Bookings are partitioned by end_date, one partition per month. PAST and CURRENT filter on end_date
+-- and FUTURE adds end_date > now (a booking ends after it starts), so their plans skip the partitions
+-- of other months, and every month is vacuumed on its own. BookingPartitions creates partitions ahead
+-- and detaches old ones through the functions below.
+--
+-- A partitioned table cannot have an identity column, an exclusion constraint across partitions or a
+-- primary key without end_date: booking_id gets a plain sequence, the key is (booking_id, end_date) and
+-- bookings_no_overlap moves to booking_periods. booking_periods has a row for every booking, so its primary
+-- key keeps booking_id unique across partitions.
+ALTER TABLE bookings RENAME TO bookings_unpartitioned;
+ALTER TABLE bookings_unpartitioned DROP CONSTRAINT bookings_no_overlap;
+
+CREATE SEQUENCE bookings_id_seq;
+SELECT setval('bookings_id_seq', last_value, is_called)
+FROM bookings_booking_id_seq;
+
+CREATE TABLE bookings
+(
+    booking_id BIGINT    NOT NULL DEFAULT nextval('bookings_id_seq'),
+    start_date TIMESTAMP,
+    end_date   TIMESTAMP NOT NULL,
+    item_id    BIGINT REFERENCES items (item_id),
+    booker_id  BIGINT REFERENCES users (user_id),
+    owner_id   BIGINT REFERENCES users (user_id),
+    status     VARCHAR(255) CHECK (status IN ('WAITING', 'APPROVED', 'REJECTED', 'CANCELED')),
+    version    BIGINT    NOT NULL DEFAULT 0
+) PARTITION BY RANGE (end_date);
+
+ALTER SEQUENCE bookings_id_seq OWNED BY bookings.booking_id;
+
+-- Rows of months without a partition, e.g. bookings far ahead. They move out once their month is created.
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+
+-- Creates the missing partitions bookings_YYYY_MM for the months from first_month to last_month
+-- and returns their names. Rows of these months already in bookings_default move into them.
+CREATE FUNCTION bookings_create_partitions(first_month DATE, last_month DATE) RETURNS SETOF TEXT AS
+$$
+DECLARE
+    from_date      DATE;
+    next_month     DATE;
+    partition_name TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_partitions'));
+    FOR from_date IN
+        SELECT generate_series(date_trunc('month', first_month::TIMESTAMP),
+                               date_trunc('month', last_month::TIMESTAMP),
+                               INTERVAL '1 month')::DATE
+        LOOP
+            partition_name := 'bookings_' || to_char(from_date, 'YYYY_MM');
+            CONTINUE WHEN to_regclass(partition_name) IS NOT NULL;
+            next_month := (from_date + INTERVAL '1 month')::DATE;
+            EXECUTE format('CREATE TABLE %I (LIKE bookings INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                           partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM bookings_default ' ||
+                           'WHERE end_date >= %L AND end_date < %L RETURNING *) ' ||
+                           'INSERT INTO %I SELECT * FROM moved', from_date, next_month, partition_name);
+            EXECUTE format('ALTER TABLE bookings ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, from_date, next_month);
+            -- The delete from bookings_default removed the periods of the moved rows
+            EXECUTE format('INSERT INTO booking_periods (booking_id, item_id, period, active) ' ||
+                           'SELECT booking_id, item_id, tsrange(start_date, end_date), ' ||
+                           'status IN (''WAITING'', ''APPROVED'') FROM %I', partition_name);
+            RETURN NEXT partition_name;
+        END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches the partitions of the months before before_month, moves them to archive_schema
+-- and returns their names. The archived tables keep their rows but are no longer part of bookings,
+-- and their periods no longer block new bookings.
+CREATE FUNCTION bookings_detach_partitions(before_month DATE, archive_schema TEXT) RETURNS SETOF TEXT AS
+$$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_partitions'));
+    EXECUTE format('CREATE SCHEMA IF NOT EXISTS %I', archive_schema);
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+                 JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'bookings'::regclass
+          AND c.relname ~ '^bookings_\d{4}_\d{2}$'
+          AND to_date(substr(c.relname, 10), 'YYYY_MM') < date_trunc('month', before_month)
+        ORDER BY c.relname
+        LOOP
+            EXECUTE format('DELETE FROM booking_periods p USING %I b WHERE p.booking_id = b.booking_id',
+                           partition_name);
+            EXECUTE format('ALTER TABLE bookings DETACH PARTITION %I', partition_name);
+            EXECUTE format('ALTER TABLE %I SET SCHEMA %I', partition_name, archive_schema);
+            RETURN NEXT partition_name;
+        END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- bookings_no_overlap of V4 on a table that is not partitioned: one row per booking, kept by the trigger
+-- below. Only WAITING and APPROVED bookings are active and take part in the constraint.
+CREATE TABLE booking_periods
+(
+    booking_id BIGINT PRIMARY KEY,
+    item_id    BIGINT  NOT NULL,
+    period     TSRANGE NOT NULL,
+    active     BOOLEAN NOT NULL,
+    CONSTRAINT bookings_no_overlap EXCLUDE USING gist (item_id WITH =, period WITH &&) WHERE (active)
+);
+
+-- Existing rows: partitions from the oldest booking up to three months ahead, later ones go to the default
+SELECT bookings_create_partitions(
+               COALESCE((SELECT MIN(end_date) FROM bookings_unpartitioned), now())::DATE,
+               (now() + INTERVAL '3 months')::DATE);
+
+INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, owner_id, status, version)
+SELECT booking_id, start_date, end_date, item_id, booker_id, owner_id, status, version
+FROM bookings_unpartitioned;
+
+INSERT INTO booking_periods (booking_id, item_id, period, active)
+SELECT booking_id, item_id, tsrange(start_date, end_date), status IN ('WAITING', 'APPROVED')
+FROM bookings;
+
+DROP TABLE bookings_unpartitioned;
+
+ALTER TABLE bookings
+    ADD PRIMARY KEY (booking_id, end_date);
+
+-- Same indexes as V3 and V6, now one per partition
+CREATE INDEX bookings_booker_end_idx ON bookings (booker_id, end_date DESC);
+CREATE INDEX bookings_booker_status_end_idx ON bookings (booker_id, status, end_date DESC);
+CREATE INDEX bookings_booker_start_idx ON bookings (booker_id, start_date);
+CREATE INDEX bookings_owner_end_idx ON bookings (owner_id, end_date DESC);
+CREATE INDEX bookings_owner_status_end_idx ON bookings (owner_id, status, end_date DESC);
+CREATE INDEX bookings_owner_start_idx ON bookings (owner_id, start_date);
+CREATE INDEX bookings_item_end_idx ON bookings (item_id, end_date DESC);
+CREATE INDEX bookings_item_start_idx ON bookings (item_id, start_date);
+CREATE INDEX bookings_item_booker_end_idx ON bookings (item_id, booker_id, end_date);
+
+CREATE TRIGGER bookings_set_owner
+    BEFORE INSERT OR UPDATE OF item_id, owner_id ON bookings
+    FOR EACH ROW
+EXECUTE FUNCTION bookings_set_owner();
+
+CREATE FUNCTION bookings_sync_periods() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM booking_periods WHERE booking_id = OLD.booking_id;
+    ELSIF TG_OP = 'INSERT' THEN
+        -- A booking_id already used in another partition fails on booking_periods_pkey
+        INSERT INTO booking_periods (booking_id, item_id, period, active)
+        VALUES (NEW.booking_id, NEW.item_id, tsrange(NEW.start_date, NEW.end_date),
+                NEW.status IN ('WAITING', 'APPROVED'));
+    ELSE
+        UPDATE booking_periods
+        SET item_id = NEW.item_id,
+            period  = tsrange(NEW.start_date, NEW.end_date),
+            active  = NEW.status IN ('WAITING', 'APPROVED')
+        WHERE booking_id = NEW.booking_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER bookings_sync_periods
+    AFTER INSERT OR UPDATE OF start_date, end_date, item_id, status OR DELETE ON bookings
+    FOR EACH ROW
+EXECUTE FUNCTION bookings_sync_periods();
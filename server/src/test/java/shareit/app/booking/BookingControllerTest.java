@@ -11,6 +11,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import shareit.app.booking.dto.BookingDto;
+import shareit.app.booking.dto.BookingShortDto;
+import shareit.app.util.Cursor;
+import shareit.app.util.CursorPage;
+import shareit.app.util.NdjsonResponses;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -21,6 +25,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -33,6 +38,9 @@ public class BookingControllerTest {
     @MockitoBean
     private BookingService service;
 
+    @MockitoBean
+    private NdjsonResponses ndjson;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -127,8 +135,8 @@ public class BookingControllerTest {
 
     @Test
     public void getByUserAndState() throws Exception {
-        BookingDto bookingDto = new BookingDto(1L, getLTD("+", 2), getLTD("+", 3),
-                null, 1L, null, 1L, BookingStatus.WAITING);
+        BookingShortDto bookingDto = new BookingShortDto(1L, getLTD("+", 2), getLTD("+", 3),
+                BookingStatus.WAITING, 1L, "item", 1L);
         when(service.getByUserAndState(any(), any(), any(), any())).thenReturn(List.of(bookingDto));
 
         mockMvc.perform(MockMvcRequestBuilders.get(url)
@@ -140,8 +148,44 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class))
                 .andExpect(jsonPath("$[0].itemId", is(bookingDto.getItemId()), Long.class))
+                .andExpect(jsonPath("$[0].itemName", is(bookingDto.getItemName())))
                 .andExpect(jsonPath("$[0].bookerId", is(bookingDto.getBookerId()), Long.class))
-                .andExpect(jsonPath("$[0].status", is(bookingDto.getStatus().toString())));
+                .andExpect(jsonPath("$[0].status", is(bookingDto.getStatus().toString())))
+                .andExpect(jsonPath("$[0].item").doesNotExist())
+                .andExpect(jsonPath("$[0].booker").doesNotExist());
+    }
+
+    @Test
+    public void getByUserAndStateWithCursor() throws Exception {
+        BookingShortDto bookingDto = new BookingShortDto(1L, getLTD("+", 2), getLTD("+", 3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(service.getByUserAndStateAfter(any(), any(), any(), any()))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), "next"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(url)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "ALL")
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Cursor.NEXT_HEADER, "next"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class));
+    }
+
+    @Test
+    public void getByOwnerAndStateWithCursor() throws Exception {
+        when(service.getByOwnerAndStateAfter(any(), any(), any(), any()))
+                .thenReturn(new CursorPage<>(List.of(), null));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(url + "/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "ALL")
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(Cursor.NEXT_HEADER))
+                .andExpect(jsonPath("$", hasSize(0)));
     }
 
     @Test
@@ -153,8 +197,8 @@ public class BookingControllerTest {
 
     @Test
     public void getByOwnerAndState() throws Exception {
-        BookingDto bookingDto = new BookingDto(1L, getLTD("+", 2), getLTD("+", 3),
-                null, 1L, null, 1L, BookingStatus.WAITING);
+        BookingShortDto bookingDto = new BookingShortDto(1L, getLTD("+", 2), getLTD("+", 3),
+                BookingStatus.WAITING, 1L, "item", 1L);
         when(service.getByOwnerAndState(any(), any(), any(), any())).thenReturn(List.of(bookingDto));
 
         mockMvc.perform(MockMvcRequestBuilders.get(url + "/owner")
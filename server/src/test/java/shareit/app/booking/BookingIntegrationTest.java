@@ -1,5 +1,7 @@
 package shareit.app.booking;
 
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,6 +9,10 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.jdbc.core.JdbcTemplate;
 import shareit.app.booking.dto.BookingDto;
+import shareit.app.booking.dto.BookingShortDto;
+import shareit.app.exception.ObjectAlreadyExistException;
+import shareit.app.exception.ObjectNotFoundException;
+import shareit.app.exception.ValidationException;
 import shareit.app.item.ItemService;
 import shareit.app.item.dto.ItemDto;
 import shareit.app.user.UserService;
@@ -14,11 +20,19 @@ import shareit.app.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@SpringBootTest
+@SpringBootTest(properties = "decorator.datasource.datasource-proxy.count-query=true")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public class BookingIntegrationTest {
 
@@ -61,7 +75,7 @@ public class BookingIntegrationTest {
 
     @Test
     public void addBooking() {
-        BookingDto foundBooking = bookingService.getById(owner.getId(), item1.getId());
+        BookingDto foundBooking = bookingService.getById(owner.getId(), booking1.getId());
 
         assertThat(foundBooking.getId()).isEqualTo(booking1.getId());
         assertThat(foundBooking.getStart()).isEqualTo(booking1.getStart());
@@ -75,14 +89,65 @@ public class BookingIntegrationTest {
     public void setApprove() {
         bookingService.makeApprove(owner.getId(), booking1.getId(), true);
 
-        BookingDto foundBooking = bookingService.getById(owner.getId(), item1.getId());
+        BookingDto foundBooking = bookingService.getById(owner.getId(), booking1.getId());
         assertThat(foundBooking.getId()).isEqualTo(booking1.getId());
         assertThat(foundBooking.getStatus()).isEqualTo(BookingStatus.APPROVED);
     }
 
+    @Test
+    public void setApproveTwice() {
+        bookingService.makeApprove(owner.getId(), booking1.getId(), true);
+
+        assertThatThrownBy(() -> bookingService.makeApprove(owner.getId(), booking1.getId(), false))
+                .isInstanceOf(ValidationException.class);
+        assertThat(bookingService.getById(owner.getId(), booking1.getId()).getStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+    }
+
+    @Test
+    public void setApproveByNotOwner() {
+        assertThatThrownBy(() -> bookingService.makeApprove(booker.getId(), booking1.getId(), true))
+                .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    public void setApproveConcurrently() throws Exception {
+        int attempts = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BookingDto>> results = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            boolean approved = i % 2 == 0;
+            results.add(executor.submit(() -> {
+                start.await();
+                return bookingService.makeApprove(owner.getId(), booking1.getId(), approved);
+            }));
+        }
+        start.countDown();
+
+        List<BookingDto> changed = new ArrayList<>();
+        int rejected = 0;
+        for (Future<BookingDto> result : results) {
+            try {
+                changed.add(result.get(60, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(ValidationException.class);
+                rejected++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(changed).hasSize(1);
+        assertThat(rejected).isEqualTo(attempts - 1);
+        assertThat(bookingService.getById(owner.getId(), booking1.getId()).getStatus())
+                .isEqualTo(changed.get(0).getStatus());
+        assertThat(jdbc.queryForObject("SELECT version FROM bookings WHERE booking_id = ?",
+                Long.class, booking1.getId())).isEqualTo(1L);
+    }
+
     @Test
     public void getById() {
-        BookingDto foundBooking = bookingService.getById(owner.getId(), item1.getId());
+        BookingDto foundBooking = bookingService.getById(owner.getId(), booking1.getId());
 
         assertThat(foundBooking.getId()).isEqualTo(booking1.getId());
         assertThat(foundBooking.getItem().getId()).isEqualTo(item1.getId());
@@ -92,24 +157,105 @@ public class BookingIntegrationTest {
 
     @Test
     public void getAllForUser() {
-        List<BookingDto> bookings = bookingService.getByUserAndState(booker.getId(), "ALL", 0, 5);
+        List<BookingShortDto> bookings = bookingService.getByUserAndState(booker.getId(), "ALL", 0, 5);
 
         assertThat(bookings).hasSize(2);
         assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item1.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item1.getId());
         assertThat(bookings.get(1).getId()).isEqualTo(booking2.getId());
-        assertThat(bookings.get(1).getItem().getId()).isEqualTo(item2.getId());
+        assertThat(bookings.get(1).getItemId()).isEqualTo(item2.getId());
     }
 
     @Test
     public void getAllForOwner() {
-        List<BookingDto> bookings = bookingService.getByOwnerAndState(owner.getId(), "ALL", 0, 5);
+        List<BookingShortDto> bookings = bookingService.getByOwnerAndState(owner.getId(), "ALL", 0, 5);
 
         assertThat(bookings).hasSize(2);
         assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item1.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item1.getId());
         assertThat(bookings.get(1).getId()).isEqualTo(booking2.getId());
-        assertThat(bookings.get(1).getItem().getId()).isEqualTo(item2.getId());
+        assertThat(bookings.get(1).getItemId()).isEqualTo(item2.getId());
+    }
+
+    @Test
+    public void addOverlappingBooking() {
+        assertThatThrownBy(() -> bookingService.add(booker.getId(),
+                new BookingDto(null, getLTD(1), getLTD(3), null, item1.getId(), null, null, null)))
+                .isInstanceOf(ObjectAlreadyExistException.class);
+    }
+
+    @Test
+    public void addAdjacentBooking() {
+        BookingDto booking = bookingService.add(booker.getId(),
+                new BookingDto(null, booking1.getEnd(), getLTD(5), null, item1.getId(), null, null, null));
+
+        assertThat(booking.getId()).isNotNull();
+    }
+
+    @Test
+    public void addBookingOverRejected() {
+        bookingService.makeApprove(owner.getId(), booking1.getId(), false);
+
+        BookingDto booking = bookingService.add(booker.getId(),
+                new BookingDto(null, booking1.getStart(), booking1.getEnd(), null, item1.getId(), null, null, null));
+        assertThat(booking.getId()).isNotNull();
+    }
+
+    @Test
+    public void addConcurrentBookingsForSamePeriod() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BookingDto>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return bookingService.add(booker.getId(),
+                        new BookingDto(null, getLTD(100), getLTD(200), null, item2.getId(), null, null, null));
+            }));
+        }
+        start.countDown();
+
+        int added = 0;
+        int conflicts = 0;
+        for (Future<BookingDto> result : results) {
+            try {
+                result.get(30, TimeUnit.SECONDS);
+                added++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(ObjectAlreadyExistException.class);
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(added).isEqualTo(1);
+        assertThat(conflicts).isEqualTo(threads - 1);
+    }
+
+    @Test
+    public void getPageForUserWithSingleQuery() {
+        jdbc.update("INSERT INTO users (name, email) " +
+                "SELECT 'owner ' || n, 'owner' || n || '@qwerty.com' FROM generate_series(1, 200) n");
+        jdbc.update("INSERT INTO requests (description, requester_id, create_date) " +
+                "SELECT 'request ' || user_id, user_id, now() FROM users WHERE name LIKE 'owner %'");
+        jdbc.update("INSERT INTO items (name, description, is_available, owner_id, request_id) " +
+                "SELECT 'item', 'desc', true, requester_id, request_id FROM requests");
+        jdbc.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT now(), now() + INTERVAL '1 day', item_id, ?, 'APPROVED' FROM items " +
+                "WHERE request_id IS NOT NULL", booker.getId());
+        bookingService.getByUserAndState(booker.getId(), "ALL", 0, 1);
+
+        long selectsBefore = QueryCountHolder.getGrandTotal().getSelect();
+        List<BookingShortDto> bookings = bookingService.getByUserAndState(booker.getId(), "ALL", 0, 200);
+        QueryCount after = QueryCountHolder.getGrandTotal();
+
+        assertThat(bookings).hasSize(200);
+        assertThat(bookings).allSatisfy(booking -> {
+            assertThat(booking.getItemName()).isEqualTo("item");
+            assertThat(booking.getBookerId()).isEqualTo(booker.getId());
+        });
+        assertThat(after.getSelect() - selectsBefore).isEqualTo(1);
     }
 
     private LocalDateTime getLTD(int sec) {
@@ -0,0 +1,146 @@
+package shareit.app.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class BookingPartitionsTest {
+
+    @Autowired
+    private BookingPartitions partitions;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Long userId;
+    private Long itemId;
+
+    @BeforeEach
+    public void setUp() {
+        userId = jdbc.queryForObject("INSERT INTO users (name, email) " +
+                "VALUES ('owner', 'partitions@mail.com') RETURNING user_id", Long.class);
+        itemId = jdbc.queryForObject("INSERT INTO items (name, description, is_available, owner_id) " +
+                "VALUES ('item', 'desc', true, ?) RETURNING item_id", Long.class, userId);
+    }
+
+    @Test
+    public void createPartitionsAhead() {
+        partitions.maintain(LocalDate.of(2040, 1, 15));
+
+        assertThat(getPartitions()).contains("bookings_2040_01", "bookings_2040_02", "bookings_2040_03",
+                "bookings_2040_04");
+        assertThat(getPartitions()).doesNotContain("bookings_2040_05");
+    }
+
+    @Test
+    public void moveRowsFromDefaultPartition() {
+        Long bookingId = insertBooking(LocalDateTime.of(2045, 6, 1, 12, 0), LocalDateTime.of(2045, 6, 10, 12, 0));
+        assertThat(getPartition(bookingId)).isEqualTo("bookings_default");
+
+        partitions.maintain(LocalDate.of(2045, 4, 1));
+
+        assertThat(getPartition(bookingId)).isEqualTo("bookings_2045_06");
+    }
+
+    @Test
+    public void keepOldPartitionsByDefault() {
+        partitions.maintain(LocalDate.of(2043, 1, 1));
+
+        partitions.maintain(LocalDate.of(2046, 2, 1));
+
+        assertThat(getPartitions()).contains("bookings_2043_01", "bookings_2046_02");
+    }
+
+    @Test
+    public void detachOldPartitionsToArchive() {
+        BookingPartitions archiving = new BookingPartitions(jdbc, 3, 36, "archive");
+        archiving.maintain(LocalDate.of(2041, 1, 1));
+        Long bookingId = insertBooking(LocalDateTime.of(2041, 1, 5, 12, 0), LocalDateTime.of(2041, 1, 10, 12, 0));
+
+        archiving.maintain(LocalDate.of(2044, 2, 1));
+
+        assertThat(getPartitions()).doesNotContain("bookings_2041_01").contains("bookings_2044_02");
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM bookings WHERE booking_id = ?", Long.class,
+                bookingId)).isZero();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM archive.bookings_2041_01 WHERE booking_id = ?",
+                Long.class, bookingId)).isOne();
+    }
+
+    @Test
+    public void rejectOverlapAcrossPartitions() {
+        partitions.maintain(LocalDate.of(2042, 1, 1));
+        Long bookingId = insertBooking(LocalDateTime.of(2042, 1, 25, 12, 0), LocalDateTime.of(2042, 2, 5, 12, 0));
+        assertThat(getPartition(bookingId)).isEqualTo("bookings_2042_02");
+
+        assertThatThrownBy(() -> insertBooking(LocalDateTime.of(2042, 1, 20, 12, 0),
+                LocalDateTime.of(2042, 1, 28, 12, 0)))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("bookings_no_overlap");
+    }
+
+    @Test
+    public void allowOverlapWithCanceledBooking() {
+        partitions.maintain(LocalDate.of(2042, 1, 1));
+        Long bookingId = insertBooking(LocalDateTime.of(2042, 3, 1, 12, 0), LocalDateTime.of(2042, 3, 5, 12, 0));
+        jdbc.update("UPDATE bookings SET status = 'CANCELED' WHERE booking_id = ?", bookingId);
+
+        Long otherId = insertBooking(LocalDateTime.of(2042, 3, 2, 12, 0), LocalDateTime.of(2042, 3, 4, 12, 0));
+
+        assertThat(getPartition(otherId)).isEqualTo("bookings_2042_03");
+    }
+
+    @Test
+    public void keepOverlapAfterMoveFromDefaultPartition() {
+        insertBooking(LocalDateTime.of(2047, 6, 1, 12, 0), LocalDateTime.of(2047, 6, 10, 12, 0));
+        partitions.maintain(LocalDate.of(2047, 4, 1));
+
+        assertThatThrownBy(() -> insertBooking(LocalDateTime.of(2047, 6, 5, 12, 0),
+                LocalDateTime.of(2047, 6, 15, 12, 0)))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("bookings_no_overlap");
+    }
+
+    @Test
+    public void rejectDuplicateIdAcrossPartitions() {
+        partitions.maintain(LocalDate.of(2042, 1, 1));
+        Long bookingId = insertBooking(LocalDateTime.of(2042, 1, 5, 12, 0), LocalDateTime.of(2042, 1, 10, 12, 0));
+        jdbc.update("UPDATE bookings SET status = 'CANCELED' WHERE booking_id = ?", bookingId);
+
+        assertThatThrownBy(() -> jdbc.update("INSERT INTO bookings (booking_id, start_date, end_date, item_id, " +
+                        "booker_id, status) VALUES (?, ?, ?, ?, ?, 'WAITING')", bookingId,
+                LocalDateTime.of(2042, 3, 5, 12, 0), LocalDateTime.of(2042, 3, 10, 12, 0), itemId, userId))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("booking_periods_pkey");
+    }
+
+    private Long insertBooking(LocalDateTime start, LocalDateTime end) {
+        return jdbc.queryForObject("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, 'WAITING') RETURNING booking_id", Long.class, start, end, itemId, userId);
+    }
+
+    private String getPartition(Long bookingId) {
+        return jdbc.queryForObject("SELECT tableoid::regclass::text FROM bookings WHERE booking_id = ?",
+                String.class, bookingId);
+    }
+
+    private List<String> getPartitions() {
+        return jdbc.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'bookings'::regclass", String.class);
+    }
+}
@@ -0,0 +1,221 @@
+package shareit.app.booking;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import shareit.app.util.Cursor;
+import shareit.app.util.OffsetPageRequest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Каждый запрос репозитория повторяется как EXPLAIN на тысячах строк: без подходящего индекса
+ * планировщик выбирает Seq Scan. Проверяются только секции со строками, даты фиксированы.
+ */
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class BookingQueryPlanTest {
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    @Autowired
+    private BookingRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private QueryRecorder recorder;
+
+    private final OffsetPageRequest page = new OffsetPageRequest(0, 10, Sort.by(Sort.Direction.DESC, "end"));
+    private final LocalDateTime now = LocalDateTime.of(2030, 6, 15, 12, 0);
+
+    private Long ownerId;
+    private Long bookerId;
+    private List<Long> itemIds;
+    private Set<String> populated;
+
+    @BeforeEach
+    public void setUp() {
+        jdbc.execute("DELETE FROM bookings");
+        jdbc.execute("DELETE FROM comments");
+        jdbc.execute("DELETE FROM items");
+        jdbc.execute("DELETE FROM requests");
+        jdbc.execute("DELETE FROM users");
+
+        jdbc.update("INSERT INTO users (name, email) " +
+                "SELECT 'user ' || n, 'user' || n || '@mail.com' FROM generate_series(1, 500) n");
+        jdbc.update("INSERT INTO items (name, description, is_available, owner_id) " +
+                "SELECT 'item ' || n, 'desc ' || n, true, " +
+                "(SELECT MIN(user_id) FROM users) + n % 500 FROM generate_series(1, 20000) n");
+        jdbc.queryForList("SELECT bookings_create_partitions(DATE '2030-04-01', DATE '2030-08-01')", String.class);
+        jdbc.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT TIMESTAMP '2030-03-30 12:00' + n % 153 * INTERVAL '1 day', " +
+                "TIMESTAMP '2030-04-01 12:00' + n % 153 * INTERVAL '1 day', " +
+                "(SELECT MIN(item_id) FROM items) + n % 20000, (SELECT MIN(user_id) FROM users) + n % 500, " +
+                "(ARRAY['WAITING', 'APPROVED', 'REJECTED', 'CANCELED'])[n % 4 + 1] " +
+                "FROM generate_series(1, 20000) n");
+        jdbc.execute("ANALYZE users");
+        jdbc.execute("ANALYZE items");
+        jdbc.execute("ANALYZE bookings");
+        populated = new HashSet<>(jdbc.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'bookings'::regclass AND c.reltuples > 0", String.class));
+        populated.add("items");
+
+        ownerId = jdbc.queryForObject("SELECT MIN(user_id) FROM users", Long.class);
+        bookerId = ownerId + 1;
+        itemIds = jdbc.queryForList("SELECT item_id FROM items ORDER BY item_id LIMIT 20", Long.class);
+    }
+
+    @Test
+    public void bookerQueriesUseIndexes() {
+        assertNoSeqScan(() -> {
+            repository.findByBookerId(bookerId, page);
+            repository.findByBookerIdAndStartBeforeAndEndAfter(bookerId, now, now, page);
+            repository.findByBookerIdAndEndBefore(bookerId, now, page);
+            repository.findByBookerIdAndStartAfter(bookerId, now, page);
+            repository.findByBookerIdAndStatus(bookerId, BookingStatus.WAITING, page);
+        });
+    }
+
+    @Test
+    public void ownerQueriesUseIndexes() {
+        assertNoSeqScan(() -> {
+            repository.findByItemOwnerId(ownerId, page);
+            repository.findByItemOwnerIdAndStartBeforeAndEndAfter(ownerId, now, now, page);
+            repository.findByItemOwnerIdAndEndBefore(ownerId, now, page);
+            repository.findByItemOwnerIdAndStartAfter(ownerId, now, page);
+            repository.findByItemOwnerIdAndStatus(ownerId, BookingStatus.WAITING, page);
+        });
+    }
+
+    @Test
+    public void itemQueriesUseIndexes() {
+        assertNoSeqScan(() -> {
+            repository.findByItemIdAndBookerIdAndEndBefore(itemIds.get(0), bookerId, now);
+            repository.findFirstByItemIdAndEndBefore(itemIds.get(0), now, Sort.by(Sort.Direction.DESC, "end"));
+            repository.findFirstByItemIdAndStartAfterAndEndAfter(itemIds.get(0), now, now,
+                    Sort.by(Sort.Direction.ASC, "start"));
+            repository.findLastByItemIdIn(itemIds, now);
+            repository.findNextByItemIdIn(itemIds, now);
+        });
+    }
+
+    @Test
+    public void idQueriesUseIndexes() {
+        Long bookingId = jdbc.queryForObject("SELECT MAX(booking_id) FROM bookings", Long.class);
+
+        assertNoSeqScan(() -> repository.findById(bookingId));
+    }
+
+    @Test
+    public void keysetQueriesUseIndexes() {
+        Cursor cursor = new Cursor(now, Long.MAX_VALUE);
+        Sort sort = Sort.by(Sort.Direction.DESC, "end", "id");
+
+        assertNoSeqScan(() -> {
+            repository.findFirst(BookingSpecifications.byBooker(bookerId)
+                    .and(BookingSpecifications.after(cursor)), sort, 10);
+            repository.findFirst(BookingSpecifications.byItemOwner(ownerId)
+                    .and(BookingSpecifications.after(cursor)), sort, 10);
+        });
+    }
+
+    private void assertNoSeqScan(Runnable queries) {
+        List<QueryInfo> executed = recorder.record(queries);
+
+        assertThat(executed).isNotEmpty();
+        for (QueryInfo query : executed) {
+            assertThat(explain(query))
+                    .as("План запроса %s", query.getQuery())
+                    .noneMatch(line -> populated.contains(seqScanned(line)));
+        }
+    }
+
+    private String seqScanned(String line) {
+        Matcher matcher = SEQ_SCAN.matcher(line);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private List<String> explain(QueryInfo query) {
+        return jdbc.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.getQuery())) {
+                if (!query.getParametersList().isEmpty()) {
+                    for (ParameterSetOperation operation : query.getParametersList().get(0)) {
+                        operation.getMethod().invoke(statement, operation.getArgs());
+                    }
+                }
+                List<String> plan = new ArrayList<>();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        plan.add(rs.getString(1));
+                    }
+                }
+                return plan;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @TestConfiguration
+    static class QueryRecorderConfig {
+
+        @Bean
+        QueryRecorder queryRecorder() {
+            return new QueryRecorder();
+        }
+    }
+
+    static class QueryRecorder implements QueryExecutionListener {
+
+        private final List<QueryInfo> queries = new ArrayList<>();
+        private boolean recording;
+
+        List<QueryInfo> record(Runnable action) {
+            queries.clear();
+            recording = true;
+            try {
+                action.run();
+            } finally {
+                recording = false;
+            }
+            return new ArrayList<>(queries);
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (recording) {
+                queries.addAll(queryInfoList);
+            }
+        }
+    }
+}
@@ -8,9 +8,12 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.jdbc.core.JdbcTemplate;
+import shareit.app.booking.dto.BookingShortDto;
 import shareit.app.item.Item;
 import shareit.app.user.User;
+import shareit.app.util.Cursor;
 import shareit.app.util.OffsetPageRequest;
 
 import java.time.LocalDateTime;
@@ -53,140 +56,140 @@ public class BookingRepositoryTest {
         item2 = manager.persist(new Item(null, "item 2", "desc 2", true, owner, null));
         item3 = manager.persist(new Item(null, "item 3", "desc 3", true, owner, null));
         booking1 = manager.persist(new Booking(null, getLTD(2), getLTD(3), item1, booker,
-                BookingStatus.WAITING));
+                null, BookingStatus.WAITING, null));
         booking2 = manager.persist(new Booking(null, getLTD(2), getLTD(4), item2, booker,
-                BookingStatus.APPROVED));
+                null, BookingStatus.APPROVED, null));
         booking3 = manager.persist(new Booking(null, getLTD(3), getLTD(5), item3, booker,
-                BookingStatus.REJECTED));
+                null, BookingStatus.REJECTED, null));
     }
 
     @Test
     public void getByUserAndStateAll() {
-        List<Booking> bookings = repository.findByBookerId(booker.getId(), Pageable.unpaged());
+        List<BookingShortDto> bookings = repository.findByBookerId(booker.getId(), Pageable.unpaged(Sort.by("id")));
 
         assertThat(bookings).hasSize(3);
         assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item1.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item1.getId());
         assertThat(bookings.get(1).getId()).isEqualTo(booking2.getId());
-        assertThat(bookings.get(1).getItem().getId()).isEqualTo(item2.getId());
+        assertThat(bookings.get(1).getItemId()).isEqualTo(item2.getId());
         assertThat(bookings.get(2).getId()).isEqualTo(booking3.getId());
-        assertThat(bookings.get(2).getItem().getId()).isEqualTo(item3.getId());
+        assertThat(bookings.get(2).getItemId()).isEqualTo(item3.getId());
     }
 
     @Test
     public void getByUserAndStateAllWithPagination() {
-        List<Booking> bookings = repository.findByBookerId(booker.getId(),
-                new OffsetPageRequest(1, 1, Sort.unsorted()));
+        List<BookingShortDto> bookings = repository.findByBookerId(booker.getId(),
+                new OffsetPageRequest(1, 1, Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking2.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item2.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item2.getId());
     }
 
     @Test
     public void getByUserAndStateCurrent() throws InterruptedException {
         TimeUnit.SECONDS.sleep(2);
-        List<Booking> bookings = repository.findByBookerIdAndStartBeforeAndEndAfter(booker.getId(), LocalDateTime.now(),
-                LocalDateTime.now(), Pageable.unpaged());
+        List<BookingShortDto> bookings = repository.findByBookerIdAndStartBeforeAndEndAfter(booker.getId(),
+                LocalDateTime.now(), LocalDateTime.now(), Pageable.unpaged(Sort.by("id")));
 
         assertThat(bookings).hasSize(2);
         assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item1.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item1.getId());
         assertThat(bookings.get(1).getId()).isEqualTo(booking2.getId());
-        assertThat(bookings.get(1).getItem().getId()).isEqualTo(item2.getId());
+        assertThat(bookings.get(1).getItemId()).isEqualTo(item2.getId());
     }
 
     @Test
     public void getByUserAndStateCurrentWithPagination() throws InterruptedException {
         TimeUnit.SECONDS.sleep(2);
-        List<Booking> bookings = repository.findByBookerIdAndStartBeforeAndEndAfter(booker.getId(), LocalDateTime.now(),
-                LocalDateTime.now(), new OffsetPageRequest(1, 1, Sort.unsorted()));
+        List<BookingShortDto> bookings = repository.findByBookerIdAndStartBeforeAndEndAfter(booker.getId(),
+                LocalDateTime.now(), LocalDateTime.now(), new OffsetPageRequest(1, 1, Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking2.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item2.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item2.getId());
     }
 
     @Test
     public void getByUserAndStatePast() throws InterruptedException {
         TimeUnit.SECONDS.sleep(3);
-        List<Booking> bookings = repository.findByBookerIdAndEndBefore(booker.getId(), LocalDateTime.now(),
-                Pageable.unpaged());
+        List<BookingShortDto> bookings = repository.findByBookerIdAndEndBefore(booker.getId(), LocalDateTime.now(),
+                Pageable.unpaged(Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item1.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item1.getId());
     }
 
     @Test
     public void getByUserAndStatePastWithPagination() throws InterruptedException {
         TimeUnit.SECONDS.sleep(3);
-        List<Booking> bookings = repository.findByBookerIdAndEndBefore(booker.getId(), LocalDateTime.now(),
-                new OffsetPageRequest(1, 1, Sort.unsorted()));
+        List<BookingShortDto> bookings = repository.findByBookerIdAndEndBefore(booker.getId(), LocalDateTime.now(),
+                new OffsetPageRequest(1, 1, Sort.by("id")));
 
         assertThat(bookings).hasSize(0);
     }
 
     @Test
     public void getByUserAndStateFuture() {
-        List<Booking> bookings = repository.findByBookerIdAndStartAfter(booker.getId(), LocalDateTime.now(),
-                Pageable.unpaged());
+        List<BookingShortDto> bookings = repository.findByBookerIdAndStartAfter(booker.getId(), LocalDateTime.now(),
+                Pageable.unpaged(Sort.by("id")));
 
         assertThat(bookings).hasSize(3);
         assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item1.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item1.getId());
         assertThat(bookings.get(1).getId()).isEqualTo(booking2.getId());
-        assertThat(bookings.get(1).getItem().getId()).isEqualTo(item2.getId());
+        assertThat(bookings.get(1).getItemId()).isEqualTo(item2.getId());
         assertThat(bookings.get(2).getId()).isEqualTo(booking3.getId());
-        assertThat(bookings.get(2).getItem().getId()).isEqualTo(item3.getId());
+        assertThat(bookings.get(2).getItemId()).isEqualTo(item3.getId());
     }
 
     @Test
     public void getByUserAndStateFutureWithPagination() {
-        List<Booking> bookings = repository.findByBookerIdAndStartAfter(booker.getId(), LocalDateTime.now(),
-                new OffsetPageRequest(2, 1, Sort.unsorted()));
+        List<BookingShortDto> bookings = repository.findByBookerIdAndStartAfter(booker.getId(), LocalDateTime.now(),
+                new OffsetPageRequest(2, 1, Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking3.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item3.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item3.getId());
     }
 
     @Test
     public void getByUserAndStateWaiting() {
-        List<Booking> bookings = repository.findByBookerIdAndStatus(booker.getId(), BookingStatus.WAITING,
-                Pageable.unpaged());
+        List<BookingShortDto> bookings = repository.findByBookerIdAndStatus(booker.getId(), BookingStatus.WAITING,
+                Pageable.unpaged(Sort.by("id")));
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item1.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item1.getId());
 
     }
 
     @Test
     public void getByUserAndStateWaitingWithPagination() {
-        List<Booking> bookings = repository.findByBookerIdAndStatus(booker.getId(), BookingStatus.WAITING,
-                new OffsetPageRequest(1, 1, Sort.unsorted()));
+        List<BookingShortDto> bookings = repository.findByBookerIdAndStatus(booker.getId(), BookingStatus.WAITING,
+                new OffsetPageRequest(1, 1, Sort.by("id")));
 
         assertThat(bookings).hasSize(0);
     }
 
     @Test
     public void getByUserAndStateRejected() {
-        List<Booking> bookings = repository.findByBookerIdAndStatus(booker.getId(), BookingStatus.REJECTED,
-                Pageable.unpaged());
+        List<BookingShortDto> bookings = repository.findByBookerIdAndStatus(booker.getId(), BookingStatus.REJECTED,
+                Pageable.unpaged(Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking3.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item3.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item3.getId());
     }
 
     @Test
     public void getByUserAndStateRejectedWithPagination() {
-        List<Booking> bookings = repository.findByBookerIdAndStatus(booker.getId(), BookingStatus.REJECTED,
-                new OffsetPageRequest(0, 1, Sort.unsorted()));
+        List<BookingShortDto> bookings = repository.findByBookerIdAndStatus(booker.getId(), BookingStatus.REJECTED,
+                new OffsetPageRequest(0, 1, Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking3.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item3.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item3.getId());
     }
 
     @Test
@@ -201,131 +204,154 @@ public class BookingRepositoryTest {
 
     @Test
     public void getByOwnerAndStateAll() {
-        List<Booking> bookings = repository.findByItemOwnerId(owner.getId(), Pageable.unpaged());
+        List<BookingShortDto> bookings = repository.findByItemOwnerId(owner.getId(), Pageable.unpaged(Sort.by("id")));
 
         assertThat(bookings).hasSize(3);
         assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item1.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item1.getId());
         assertThat(bookings.get(1).getId()).isEqualTo(booking2.getId());
-        assertThat(bookings.get(1).getItem().getId()).isEqualTo(item2.getId());
+        assertThat(bookings.get(1).getItemId()).isEqualTo(item2.getId());
         assertThat(bookings.get(2).getId()).isEqualTo(booking3.getId());
-        assertThat(bookings.get(2).getItem().getId()).isEqualTo(item3.getId());
+        assertThat(bookings.get(2).getItemId()).isEqualTo(item3.getId());
     }
 
     @Test
     public void getByOwnerAndStateAllWithPagination() {
-        List<Booking> bookings = repository.findByItemOwnerId(owner.getId(),
-                new OffsetPageRequest(1, 1, Sort.unsorted()));
+        List<BookingShortDto> bookings = repository.findByItemOwnerId(owner.getId(),
+                new OffsetPageRequest(1, 1, Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking2.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item2.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item2.getId());
     }
 
     @Test
     public void getByOwnerAndStateCurrent() throws InterruptedException {
         TimeUnit.SECONDS.sleep(2);
-        List<Booking> bookings = repository.findByItemOwnerIdAndStartBeforeAndEndAfter(owner.getId(),
-                LocalDateTime.now(), LocalDateTime.now(), Pageable.unpaged());
+        List<BookingShortDto> bookings = repository.findByItemOwnerIdAndStartBeforeAndEndAfter(owner.getId(),
+                LocalDateTime.now(), LocalDateTime.now(), Pageable.unpaged(Sort.by("id")));
 
         assertThat(bookings).hasSize(2);
         assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item1.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item1.getId());
         assertThat(bookings.get(1).getId()).isEqualTo(booking2.getId());
-        assertThat(bookings.get(1).getItem().getId()).isEqualTo(item2.getId());
+        assertThat(bookings.get(1).getItemId()).isEqualTo(item2.getId());
     }
 
     @Test
     public void getByOwnerAndStateCurrentWithPagination() throws InterruptedException {
         TimeUnit.SECONDS.sleep(2);
-        List<Booking> bookings = repository.findByItemOwnerIdAndStartBeforeAndEndAfter(owner.getId(),
-                LocalDateTime.now(), LocalDateTime.now(), new OffsetPageRequest(1, 1, Sort.unsorted()));
+        List<BookingShortDto> bookings = repository.findByItemOwnerIdAndStartBeforeAndEndAfter(owner.getId(),
+                LocalDateTime.now(), LocalDateTime.now(), new OffsetPageRequest(1, 1, Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking2.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item2.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item2.getId());
     }
 
     @Test
     public void getByOwnerAndStatePast() throws InterruptedException {
         TimeUnit.SECONDS.sleep(3);
-        List<Booking> bookings = repository.findByItemOwnerIdAndEndBefore(owner.getId(), LocalDateTime.now(),
-                Pageable.unpaged());
+        List<BookingShortDto> bookings = repository.findByItemOwnerIdAndEndBefore(owner.getId(), LocalDateTime.now(),
+                Pageable.unpaged(Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item1.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item1.getId());
     }
 
     @Test
     public void getByOwnerAndStatePastWithPagination() throws InterruptedException {
         TimeUnit.SECONDS.sleep(3);
-        List<Booking> bookings = repository.findByItemOwnerIdAndEndBefore(owner.getId(), LocalDateTime.now(),
-                new OffsetPageRequest(1, 1, Sort.unsorted()));
+        List<BookingShortDto> bookings = repository.findByItemOwnerIdAndEndBefore(owner.getId(), LocalDateTime.now(),
+                new OffsetPageRequest(1, 1, Sort.by("id")));
 
         assertThat(bookings).hasSize(0);
     }
 
     @Test
     public void getByOwnerAndStateFuture() {
-        List<Booking> bookings = repository.findByItemOwnerIdAndStartAfter(owner.getId(), LocalDateTime.now(),
-                Pageable.unpaged());
+        List<BookingShortDto> bookings = repository.findByItemOwnerIdAndStartAfter(owner.getId(), LocalDateTime.now(),
+                Pageable.unpaged(Sort.by("id")));
 
         assertThat(bookings).hasSize(3);
         assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item1.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item1.getId());
         assertThat(bookings.get(1).getId()).isEqualTo(booking2.getId());
-        assertThat(bookings.get(1).getItem().getId()).isEqualTo(item2.getId());
+        assertThat(bookings.get(1).getItemId()).isEqualTo(item2.getId());
         assertThat(bookings.get(2).getId()).isEqualTo(booking3.getId());
-        assertThat(bookings.get(2).getItem().getId()).isEqualTo(item3.getId());
+        assertThat(bookings.get(2).getItemId()).isEqualTo(item3.getId());
     }
 
     @Test
     public void getByOwnerAndStateFutureWithPagination() {
-        List<Booking> bookings = repository.findByItemOwnerIdAndStartAfter(owner.getId(), LocalDateTime.now(),
-                new OffsetPageRequest(2, 1, Sort.unsorted()));
+        List<BookingShortDto> bookings = repository.findByItemOwnerIdAndStartAfter(owner.getId(), LocalDateTime.now(),
+                new OffsetPageRequest(2, 1, Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking3.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item3.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item3.getId());
     }
 
     @Test
     public void getByOwnerAndStateWaiting() {
-        List<Booking> bookings = repository.findByItemOwnerIdAndStatus(owner.getId(), BookingStatus.WAITING,
-                Pageable.unpaged());
+        List<BookingShortDto> bookings = repository.findByItemOwnerIdAndStatus(owner.getId(), BookingStatus.WAITING,
+                Pageable.unpaged(Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item1.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item1.getId());
     }
 
     @Test
     public void getByOwnerAndStateWaitingWithPagination() {
-        List<Booking> bookings = repository.findByItemOwnerIdAndStatus(owner.getId(), BookingStatus.WAITING,
-                new OffsetPageRequest(1, 1, Sort.unsorted()));
+        List<BookingShortDto> bookings = repository.findByItemOwnerIdAndStatus(owner.getId(), BookingStatus.WAITING,
+                new OffsetPageRequest(1, 1, Sort.by("id")));
 
         assertThat(bookings).hasSize(0);
     }
 
     @Test
     public void getByOwnerAndStateRejected() {
-        List<Booking> bookings = repository.findByItemOwnerIdAndStatus(owner.getId(), BookingStatus.REJECTED,
-                Pageable.unpaged());
+        List<BookingShortDto> bookings = repository.findByItemOwnerIdAndStatus(owner.getId(), BookingStatus.REJECTED,
+                Pageable.unpaged(Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking3.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item3.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item3.getId());
     }
 
     @Test
     public void getByOwnerAndStateRejectedWithPagination() {
-        List<Booking> bookings = repository.findByItemOwnerIdAndStatus(owner.getId(), BookingStatus.REJECTED,
-                new OffsetPageRequest(0, 1, Sort.unsorted()));
+        List<BookingShortDto> bookings = repository.findByItemOwnerIdAndStatus(owner.getId(), BookingStatus.REJECTED,
+                new OffsetPageRequest(0, 1, Sort.by("id")));
 
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(booking3.getId());
-        assertThat(bookings.get(0).getItem().getId()).isEqualTo(item3.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(item3.getId());
+    }
+
+    @Test
+    public void fillOwnerFromItem() {
+        manager.flush();
+
+        assertThat(jdbc.queryForList("SELECT owner_id FROM bookings", Long.class))
+                .hasSize(3)
+                .containsOnly(owner.getId());
+    }
+
+    @Test
+    public void moveBookingsWithItemOwner() {
+        User newOwner = manager.persist(new User(null, "new owner", "zxc@mail.com"));
+        manager.flush();
+        jdbc.update("UPDATE items SET owner_id = ? WHERE item_id = ?", newOwner.getId(), item1.getId());
+
+        List<BookingShortDto> moved = repository.findByItemOwnerId(newOwner.getId(),
+                Pageable.unpaged(Sort.by("id")));
+        List<BookingShortDto> left = repository.findByItemOwnerId(owner.getId(), Pageable.unpaged(Sort.by("id")));
+
+        assertThat(moved).extracting(BookingShortDto::getId).containsExactly(booking1.getId());
+        assertThat(left).extracting(BookingShortDto::getId).containsExactly(booking2.getId(), booking3.getId());
     }
 
     @Test
@@ -339,12 +365,49 @@ public class BookingRepositoryTest {
 
     @Test
     public void getNextBooking() {
-        Booking booking = repository.findFirstByItemIdAndStartAfter(item2.getId(), LocalDateTime.now(), Sort.unsorted());
+        LocalDateTime now = LocalDateTime.now();
+        Booking booking = repository.findFirstByItemIdAndStartAfterAndEndAfter(item2.getId(), now, now,
+                Sort.unsorted());
 
         assertThat(booking.getId()).isEqualTo(booking2.getId());
         assertThat(booking.getItem().getId()).isEqualTo(item2.getId());
     }
 
+    @Test
+    public void getLastBookingsByItems() throws InterruptedException {
+        TimeUnit.SECONDS.sleep(4);
+        List<Booking> bookings = repository.findLastByItemIdIn(List.of(item1.getId(), item2.getId(), item3.getId()),
+                LocalDateTime.now());
+
+        assertThat(bookings).hasSize(2);
+        assertThat(bookings).extracting(Booking::getId)
+                .containsExactlyInAnyOrder(booking1.getId(), booking2.getId());
+    }
+
+    @Test
+    public void getNextBookingsByItems() {
+        List<Booking> bookings = repository.findNextByItemIdIn(List.of(item1.getId(), item2.getId(), item3.getId()),
+                LocalDateTime.now());
+
+        assertThat(bookings).hasSize(3);
+        assertThat(bookings).extracting(Booking::getId)
+                .containsExactlyInAnyOrder(booking1.getId(), booking2.getId(), booking3.getId());
+    }
+
+    @Test
+    public void getByUserAfterCursor() {
+        Specification<Booking> specification = BookingSpecifications.byBooker(booker.getId())
+                .and(BookingSpecifications.byState(BookingState.ALL, LocalDateTime.now()))
+                .and(BookingSpecifications.after(new Cursor(booking2.getEnd(), booking2.getId())));
+        List<BookingShortDto> bookings = repository.findFirst(specification,
+                Sort.by(Sort.Direction.DESC, "end", "id"), 5);
+
+        assertThat(bookings).hasSize(1);
+        assertThat(bookings.get(0).getId()).isEqualTo(booking1.getId());
+        assertThat(bookings.get(0).getItemName()).isEqualTo(item1.getName());
+        assertThat(bookings.get(0).getBookerId()).isEqualTo(booker.getId());
+    }
+
     private LocalDateTime getLTD(int sec) {
         return LocalDateTime.now().plusSeconds(sec).truncatedTo(ChronoUnit.SECONDS);
     }
@@ -6,6 +6,7 @@ import org.springframework.boot.test.autoconfigure.json.JsonTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.json.JsonContent;
 import shareit.app.booking.dto.BookingDto;
+import shareit.app.booking.dto.BookingShortDto;
 import shareit.app.item.Item;
 import shareit.app.user.User;
 
@@ -22,6 +23,9 @@ public class BookingSerializationTest {
     @Autowired
     private JacksonTester<BookingDto> tester;
 
+    @Autowired
+    private JacksonTester<BookingShortDto> shortTester;
+
     @Test
     public void serializationTest() throws IOException {
         BookingDto bookingDto = new BookingDto(1L, getLTD(2), getLTD(4), new Item(), 1L,
@@ -61,6 +65,22 @@ public class BookingSerializationTest {
         assertThat(bookingDto.getStatus()).isEqualTo(BookingStatus.WAITING);
     }
 
+    @Test
+    public void shortSerializationTest() throws IOException {
+        BookingShortDto bookingDto = new BookingShortDto(1L, getLTD(2), getLTD(4), BookingStatus.WAITING,
+                2L, "item", 3L);
+        JsonContent<BookingShortDto> json = shortTester.write(bookingDto);
+
+        assertThat(json).extractingJsonPathNumberValue("$.id").isEqualTo(1);
+        assertThat(json).extractingJsonPathStringValue("$.end").isEqualTo(bookingDto.getEnd()
+                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        assertThat(json).extractingJsonPathNumberValue("$.itemId").isEqualTo(2);
+        assertThat(json).extractingJsonPathStringValue("$.itemName").isEqualTo("item");
+        assertThat(json).extractingJsonPathNumberValue("$.bookerId").isEqualTo(3);
+        assertThat(json).doesNotHaveJsonPath("$.item");
+        assertThat(json).doesNotHaveJsonPath("$.booker");
+    }
+
     private LocalDateTime getLTD(int sec) {
         return LocalDateTime.now().plusSeconds(sec).truncatedTo(ChronoUnit.SECONDS);
     }
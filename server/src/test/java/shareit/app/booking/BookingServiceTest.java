@@ -2,28 +2,40 @@ package shareit.app.booking;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import shareit.app.booking.dto.BookingDto;
+import shareit.app.booking.dto.BookingShortDto;
+import shareit.app.exception.ObjectAlreadyExistException;
 import shareit.app.exception.ObjectNotFoundException;
 import shareit.app.exception.ValidationException;
 import shareit.app.item.Item;
 import shareit.app.item.ItemService;
-import shareit.app.item.dto.OwnerItemDto;
 import shareit.app.user.User;
 import shareit.app.user.UserMapper;
 import shareit.app.user.UserService;
 import shareit.app.user.dto.UserDto;
+import shareit.app.util.Cursor;
+import shareit.app.util.CursorPage;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,24 +67,65 @@ public class BookingServiceTest {
         BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
                 item, item.getId(), booker, booker.getId(), BookingStatus.WAITING);
         Booking booking = new Booking(1L, bookingDto.getStart(), bookingDto.getEnd(),
-                null, null, BookingStatus.WAITING);
+                null, null, null, BookingStatus.WAITING, null);
         when(bookingMapper.convertFromDto(bookingDto)).thenReturn(booking);
         when(itemService.getItemById(any())).thenReturn(item);
         when(userService.getById(any())).thenReturn(new UserDto());
         when(userMapper.convertFromDto(any())).thenReturn(booker);
-        when(repository.save(any())).thenReturn(booking);
+        when(repository.saveAndFlush(any())).thenReturn(booking);
         when(bookingMapper.convertToDto(booking)).thenReturn(bookingDto);
 
         BookingDto savedBooking = bookingService.add(2L, bookingDto);
         assertThat(savedBooking).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
+    @Test
+    public void addOverlappingBooking() {
+        Item item = new Item(1L, "item", "desc", true, new User(), null);
+        item.getOwner().setId(1L);
+        BookingDto bookingDto = new BookingDto(null, getDateTime(2), getDateTime(3),
+                null, item.getId(), null, null, null);
+        Booking booking = new Booking(null, bookingDto.getStart(), bookingDto.getEnd(),
+                null, null, null, BookingStatus.WAITING, null);
+        SQLException cause = new SQLException("conflicting key value violates exclusion constraint "
+                + "\"bookings_no_overlap\"", "23P01");
+        when(bookingMapper.convertFromDto(bookingDto)).thenReturn(booking);
+        when(itemService.getItemById(any())).thenReturn(item);
+        when(userService.getById(any())).thenReturn(new UserDto());
+        when(userMapper.convertFromDto(any())).thenReturn(new User(2L, "user", "desc"));
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("overlap", cause));
+
+        assertThatThrownBy(() ->
+                bookingService.add(2L, bookingDto))
+                .isInstanceOf(ObjectAlreadyExistException.class);
+    }
+
+    @Test
+    public void addBookingWithOtherIntegrityViolation() {
+        Item item = new Item(1L, "item", "desc", true, new User(), null);
+        item.getOwner().setId(1L);
+        BookingDto bookingDto = new BookingDto(null, getDateTime(2), getDateTime(3),
+                null, item.getId(), null, null, null);
+        Booking booking = new Booking(null, bookingDto.getStart(), bookingDto.getEnd(),
+                null, null, null, BookingStatus.WAITING, null);
+        when(bookingMapper.convertFromDto(bookingDto)).thenReturn(booking);
+        when(itemService.getItemById(any())).thenReturn(item);
+        when(userService.getById(any())).thenReturn(new UserDto());
+        when(userMapper.convertFromDto(any())).thenReturn(new User(2L, "user", "desc"));
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("fk",
+                new SQLException("foreign key violation", "23503")));
+
+        assertThatThrownBy(() ->
+                bookingService.add(2L, bookingDto))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
     @Test
     public void addBookingWithEndBeforeStart() {
         BookingDto bookingDto = new BookingDto(1L, getDateTime(5), getDateTime(3),
                 null, 1L, null, null, null);
         Booking booking = new Booking(1L, bookingDto.getStart(), bookingDto.getEnd(),
-                null, null, BookingStatus.WAITING);
+                null, null, null, BookingStatus.WAITING, null);
         when(bookingMapper.convertFromDto(bookingDto)).thenReturn(booking);
 
         assertThatThrownBy(() ->
@@ -85,7 +138,7 @@ public class BookingServiceTest {
         BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
                 null, 1L, null, null, null);
         Booking booking = new Booking(1L, bookingDto.getStart(), bookingDto.getEnd(),
-                null, null, BookingStatus.WAITING);
+                null, null, null, BookingStatus.WAITING, null);
         when(bookingMapper.convertFromDto(bookingDto)).thenReturn(booking);
         when(itemService.getItemById(1L)).thenThrow(ObjectNotFoundException.class);
 
@@ -99,7 +152,7 @@ public class BookingServiceTest {
         BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
                 null, 1L, null, null, null);
         Booking booking = new Booking(1L, bookingDto.getStart(), bookingDto.getEnd(),
-                new Item(), null, BookingStatus.WAITING);
+                new Item(), null, null, BookingStatus.WAITING, null);
         Item item = new Item(1L, "item", "desc", true, new User(), null);
         item.getOwner().setId(1L);
         when(bookingMapper.convertFromDto(bookingDto)).thenReturn(booking);
@@ -115,7 +168,7 @@ public class BookingServiceTest {
         BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
                 null, 1L, null, null, null);
         Booking booking = new Booking(1L, bookingDto.getStart(), bookingDto.getEnd(),
-                new Item(), null, BookingStatus.WAITING);
+                new Item(), null, null, BookingStatus.WAITING, null);
         Item item = new Item(1L, "item", "desc", false, new User(), null);
         item.getOwner().setId(1L);
         when(bookingMapper.convertFromDto(bookingDto)).thenReturn(booking);
@@ -132,14 +185,17 @@ public class BookingServiceTest {
         item.getOwner().setId(1L);
         User booker = new User(2L, "user", "desc");
         Booking booking = new Booking(1L, getDateTime(2), getDateTime(3),
-                item, booker, BookingStatus.WAITING);
+                item, booker, null, BookingStatus.WAITING, null);
         BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
                 item, item.getId(), booker, booker.getId(), BookingStatus.APPROVED);
+        when(repository.updateWaitingStatus(1L, 1L, BookingStatus.APPROVED)).thenReturn(1);
         when(repository.findById(any())).thenReturn(Optional.of(booking));
         when(bookingMapper.convertToDto(booking)).thenReturn(bookingDto);
 
         BookingDto savedBooking = bookingService.makeApprove(1L, 1L, true);
         assertThat(savedBooking).usingRecursiveComparison().isEqualTo(bookingDto);
+        verify(repository, times(1)).updateWaitingStatus(any(), any(), any());
+        verify(repository, times(1)).findById(any());
     }
 
     @Test
@@ -148,9 +204,10 @@ public class BookingServiceTest {
         item.getOwner().setId(1L);
         User booker = new User(2L, "user", "desc");
         Booking booking = new Booking(1L, getDateTime(2), getDateTime(3),
-                item, booker, BookingStatus.WAITING);
+                item, booker, null, BookingStatus.WAITING, null);
         BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
                 item, item.getId(), booker, booker.getId(), BookingStatus.REJECTED);
+        when(repository.updateWaitingStatus(1L, 1L, BookingStatus.REJECTED)).thenReturn(1);
         when(repository.findById(any())).thenReturn(Optional.of(booking));
         when(bookingMapper.convertToDto(booking)).thenReturn(bookingDto);
 
@@ -160,6 +217,7 @@ public class BookingServiceTest {
 
     @Test
     public void makeApproveWithoutBooking() {
+        when(repository.updateWaitingStatus(1L, 1L, BookingStatus.APPROVED)).thenReturn(0);
         when(repository.findById(any())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() ->
@@ -172,7 +230,8 @@ public class BookingServiceTest {
         Item item = new Item(1L, "item", "desc", true, new User(), null);
         item.getOwner().setId(1L);
         Booking booking = new Booking(1L, getDateTime(2), getDateTime(3),
-                item, new User(), BookingStatus.WAITING);
+                item, new User(), null, BookingStatus.WAITING, null);
+        when(repository.updateWaitingStatus(1L, 2L, BookingStatus.APPROVED)).thenReturn(0);
         when(repository.findById(any())).thenReturn(Optional.of(booking));
 
         assertThatThrownBy(() ->
@@ -185,12 +244,15 @@ public class BookingServiceTest {
         Item item = new Item(1L, "item", "desc", true, new User(), null);
         item.getOwner().setId(1L);
         Booking booking = new Booking(1L, getDateTime(2), getDateTime(3),
-                item, new User(), BookingStatus.APPROVED);
+                item, new User(), null, BookingStatus.APPROVED, null);
+        when(repository.updateWaitingStatus(1L, 1L, BookingStatus.APPROVED)).thenReturn(0);
         when(repository.findById(any())).thenReturn(Optional.of(booking));
 
         assertThatThrownBy(() ->
                 bookingService.makeApprove(1L, 1L, true))
                 .isInstanceOf(ValidationException.class);
+        verify(repository, times(1)).updateWaitingStatus(any(), any(), any());
+        verify(repository, times(1)).findById(any());
     }
 
     @Test
@@ -199,7 +261,7 @@ public class BookingServiceTest {
         item.getOwner().setId(2L);
         User booker = new User(3L, "user", "desc");
         Booking booking = new Booking(4L, getDateTime(2), getDateTime(3),
-                item, booker, BookingStatus.WAITING);
+                item, booker, null, BookingStatus.WAITING, null);
         BookingDto bookingDto = new BookingDto(4L, getDateTime(2), getDateTime(3),
                 item, item.getId(), booker, booker.getId(), BookingStatus.WAITING);
         when(repository.findById(any())).thenReturn(Optional.of(booking));
@@ -215,7 +277,7 @@ public class BookingServiceTest {
         item.getOwner().setId(2L);
         User booker = new User(3L, "user", "desc");
         Booking booking = new Booking(4L, getDateTime(2), getDateTime(3),
-                item, booker, BookingStatus.WAITING);
+                item, booker, null, BookingStatus.WAITING, null);
         BookingDto bookingDto = new BookingDto(4L, getDateTime(2), getDateTime(3),
                 item, item.getId(), booker, booker.getId(), BookingStatus.WAITING);
         when(repository.findById(any())).thenReturn(Optional.of(booking));
@@ -231,7 +293,7 @@ public class BookingServiceTest {
         item.getOwner().setId(2L);
         User booker = new User(3L, "user", "desc");
         Booking booking = new Booking(4L, getDateTime(2), getDateTime(3),
-                item, booker, BookingStatus.WAITING);
+                item, booker, null, BookingStatus.WAITING, null);
         when(repository.findById(any())).thenReturn(Optional.of(booking));
 
         assertThatThrownBy(() ->
@@ -241,85 +303,74 @@ public class BookingServiceTest {
 
     @Test
     public void getByUserAndStateAll() {
-        BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
-                new Item(), 1L, new User(), 1L, BookingStatus.WAITING);
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(repository.findByBookerId(any(), any())).thenReturn(List.of());
-        when(bookingMapper.convertToDto(anyList())).thenReturn(List.of(bookingDto));
+        BookingShortDto bookingDto = new BookingShortDto(1L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findByBookerId(any(), any())).thenReturn(List.of(bookingDto));
 
-        List<BookingDto> bookings = bookingService.getByUserAndState(1L, "ALL", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByUserAndState(1L, "ALL", 0, 1);
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0)).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
     @Test
     public void getByUserAndStateCurrent() {
-        BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
-                new Item(), 1L, new User(), 1L, BookingStatus.WAITING);
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(repository.findByBookerIdAndStartBeforeAndEndAfter(any(), any(), any(), any())).thenReturn(List.of());
-        when(bookingMapper.convertToDto(anyList())).thenReturn(List.of(bookingDto));
+        BookingShortDto bookingDto = new BookingShortDto(1L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findByBookerIdAndStartBeforeAndEndAfter(any(), any(), any(), any()))
+                .thenReturn(List.of(bookingDto));
 
-        List<BookingDto> bookings = bookingService.getByUserAndState(1L, "CURRENT", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByUserAndState(1L, "CURRENT", 0, 1);
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0)).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
     @Test
     public void getByUserAndStatePast() {
-        BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
-                new Item(), 1L, new User(), 1L, BookingStatus.WAITING);
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(repository.findByBookerIdAndEndBefore(any(), any(), any())).thenReturn(List.of());
-        when(bookingMapper.convertToDto(anyList())).thenReturn(List.of(bookingDto));
+        BookingShortDto bookingDto = new BookingShortDto(1L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findByBookerIdAndEndBefore(any(), any(), any())).thenReturn(List.of(bookingDto));
 
-        List<BookingDto> bookings = bookingService.getByUserAndState(1L, "PAST", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByUserAndState(1L, "PAST", 0, 1);
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0)).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
     @Test
     public void getByUserAndStateFuture() {
-        BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
-                new Item(), 1L, new User(), 1L, BookingStatus.WAITING);
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(repository.findByBookerIdAndStartAfter(any(), any(), any())).thenReturn(List.of());
-        when(bookingMapper.convertToDto(anyList())).thenReturn(List.of(bookingDto));
+        BookingShortDto bookingDto = new BookingShortDto(1L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findByBookerIdAndStartAfter(any(), any(), any())).thenReturn(List.of(bookingDto));
 
-        List<BookingDto> bookings = bookingService.getByUserAndState(1L, "FUTURE", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByUserAndState(1L, "FUTURE", 0, 1);
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0)).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
     @Test
     public void getByUserAndStateWaiting() {
-        BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
-                new Item(), 1L, new User(), 1L, BookingStatus.WAITING);
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(repository.findByBookerIdAndStatus(any(), any(), any())).thenReturn(List.of());
-        when(bookingMapper.convertToDto(anyList())).thenReturn(List.of(bookingDto));
+        BookingShortDto bookingDto = new BookingShortDto(1L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findByBookerIdAndStatus(any(), any(), any())).thenReturn(List.of(bookingDto));
 
-        List<BookingDto> bookings = bookingService.getByUserAndState(1L, "WAITING", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByUserAndState(1L, "WAITING", 0, 1);
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0)).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
     @Test
     public void getByUserAndStateRejected() {
-        BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
-                new Item(), 1L, new User(), 1L, BookingStatus.WAITING);
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(repository.findByBookerIdAndStatus(any(), any(), any())).thenReturn(List.of());
-        when(bookingMapper.convertToDto(anyList())).thenReturn(List.of(bookingDto));
+        BookingShortDto bookingDto = new BookingShortDto(1L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findByBookerIdAndStatus(any(), any(), any())).thenReturn(List.of(bookingDto));
 
-        List<BookingDto> bookings = bookingService.getByUserAndState(1L, "REJECTED", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByUserAndState(1L, "REJECTED", 0, 1);
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0)).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
     @Test
     public void getByWrongUserAndStateAll() {
-        when(userService.getById(any())).thenThrow(ObjectNotFoundException.class);
+        doThrow(ObjectNotFoundException.class).when(userService).requireExists(any());
 
         assertThatThrownBy(() ->
                 bookingService.getByUserAndState(1L, "ALL", 0, 1))
@@ -328,7 +379,6 @@ public class BookingServiceTest {
 
     @Test
     public void getByUserAndWrongState() {
-        when(userService.getById(any())).thenReturn(new UserDto());
 
         assertThatThrownBy(() ->
                 bookingService.getByUserAndState(1L, "qwe", 0, 1))
@@ -337,91 +387,74 @@ public class BookingServiceTest {
 
     @Test
     public void getByOwnerAndStateAll() {
-        BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
-                new Item(), 1L, new User(), 1L, BookingStatus.WAITING);
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(itemService.getByOwner(any(), any(), any())).thenReturn(List.of(new OwnerItemDto()));
-        when(repository.findByItemOwnerId(any(), any())).thenReturn(List.of());
-        when(bookingMapper.convertToDto(anyList())).thenReturn(List.of(bookingDto));
+        BookingShortDto bookingDto = new BookingShortDto(1L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findByItemOwnerId(any(), any())).thenReturn(List.of(bookingDto));
 
-        List<BookingDto> bookings = bookingService.getByOwnerAndState(1L, "ALL", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByOwnerAndState(1L, "ALL", 0, 1);
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0)).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
     @Test
     public void getByOwnerAndStateCurrent() {
-        BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
-                new Item(), 1L, new User(), 1L, BookingStatus.WAITING);
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(itemService.getByOwner(any(), any(), any())).thenReturn(List.of(new OwnerItemDto()));
-        when(repository.findByItemOwnerIdAndStartBeforeAndEndAfter(any(), any(), any(), any())).thenReturn(List.of());
-        when(bookingMapper.convertToDto(anyList())).thenReturn(List.of(bookingDto));
+        BookingShortDto bookingDto = new BookingShortDto(1L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findByItemOwnerIdAndStartBeforeAndEndAfter(any(), any(), any(), any()))
+                .thenReturn(List.of(bookingDto));
 
-        List<BookingDto> bookings = bookingService.getByOwnerAndState(1L, "CURRENT", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByOwnerAndState(1L, "CURRENT", 0, 1);
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0)).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
     @Test
     public void getByOwnerAndStatePast() {
-        BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
-                new Item(), 1L, new User(), 1L, BookingStatus.WAITING);
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(itemService.getByOwner(any(), any(), any())).thenReturn(List.of(new OwnerItemDto()));
-        when(repository.findByItemOwnerIdAndEndBefore(any(), any(), any())).thenReturn(List.of());
-        when(bookingMapper.convertToDto(anyList())).thenReturn(List.of(bookingDto));
+        BookingShortDto bookingDto = new BookingShortDto(1L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findByItemOwnerIdAndEndBefore(any(), any(), any())).thenReturn(List.of(bookingDto));
 
-        List<BookingDto> bookings = bookingService.getByOwnerAndState(1L, "PAST", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByOwnerAndState(1L, "PAST", 0, 1);
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0)).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
     @Test
     public void getByOwnerAndStateFuture() {
-        BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
-                new Item(), 1L, new User(), 1L, BookingStatus.WAITING);
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(itemService.getByOwner(any(), any(), any())).thenReturn(List.of(new OwnerItemDto()));
-        when(repository.findByItemOwnerIdAndStartAfter(any(), any(), any())).thenReturn(List.of());
-        when(bookingMapper.convertToDto(anyList())).thenReturn(List.of(bookingDto));
+        BookingShortDto bookingDto = new BookingShortDto(1L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findByItemOwnerIdAndStartAfter(any(), any(), any())).thenReturn(List.of(bookingDto));
 
-        List<BookingDto> bookings = bookingService.getByOwnerAndState(1L, "FUTURE", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByOwnerAndState(1L, "FUTURE", 0, 1);
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0)).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
     @Test
     public void getByOwnerAndStateWaiting() {
-        BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
-                new Item(), 1L, new User(), 1L, BookingStatus.WAITING);
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(itemService.getByOwner(any(), any(), any())).thenReturn(List.of(new OwnerItemDto()));
-        when(repository.findByItemOwnerIdAndStatus(any(), any(), any())).thenReturn(List.of());
-        when(bookingMapper.convertToDto(anyList())).thenReturn(List.of(bookingDto));
+        BookingShortDto bookingDto = new BookingShortDto(1L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findByItemOwnerIdAndStatus(any(), any(), any())).thenReturn(List.of(bookingDto));
 
-        List<BookingDto> bookings = bookingService.getByOwnerAndState(1L, "WAITING", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByOwnerAndState(1L, "WAITING", 0, 1);
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0)).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
     @Test
     public void getByOwnerAndStateRejected() {
-        BookingDto bookingDto = new BookingDto(1L, getDateTime(2), getDateTime(3),
-                new Item(), 1L, new User(), 1L, BookingStatus.WAITING);
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(itemService.getByOwner(any(), any(), any())).thenReturn(List.of(new OwnerItemDto()));
-        when(repository.findByItemOwnerIdAndStatus(any(), any(), any())).thenReturn(List.of());
-        when(bookingMapper.convertToDto(anyList())).thenReturn(List.of(bookingDto));
+        BookingShortDto bookingDto = new BookingShortDto(1L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findByItemOwnerIdAndStatus(any(), any(), any())).thenReturn(List.of(bookingDto));
 
-        List<BookingDto> bookings = bookingService.getByOwnerAndState(1L, "REJECTED", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByOwnerAndState(1L, "REJECTED", 0, 1);
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0)).usingRecursiveComparison().isEqualTo(bookingDto);
     }
 
     @Test
     public void getByWrongOwnerAndStateAll() {
-        when(userService.getById(any())).thenThrow(ObjectNotFoundException.class);
+        doThrow(ObjectNotFoundException.class).when(userService).requireExists(any());
 
         assertThatThrownBy(() ->
                 bookingService.getByOwnerAndState(1L, "ALL", 0, 1))
@@ -430,7 +463,6 @@ public class BookingServiceTest {
 
     @Test
     public void getByOwnerAndWrongState() {
-        when(userService.getById(any())).thenReturn(new UserDto());
 
         assertThatThrownBy(() ->
                 bookingService.getByOwnerAndState(1L, "qwe", 0, 1))
@@ -439,13 +471,44 @@ public class BookingServiceTest {
 
     @Test
     public void getByOwnerAndStateWithOwnerWithoutItems() {
-        when(userService.getById(any())).thenReturn(new UserDto());
-        when(itemService.getByOwner(any(), any(), any())).thenReturn(List.of());
+        when(repository.findByItemOwnerId(any(), any())).thenReturn(List.of());
 
-        List<BookingDto> bookings = bookingService.getByOwnerAndState(1L, "ALL", 0, 1);
+        List<BookingShortDto> bookings = bookingService.getByOwnerAndState(1L, "ALL", 0, 1);
         assertThat(bookings).hasSize(0);
     }
 
+    @Test
+    public void getByUserAndStateAfterWithFullPage() {
+        BookingShortDto bookingDto = new BookingShortDto(2L, getDateTime(2), getDateTime(3),
+                BookingStatus.WAITING, 1L, "item", 1L);
+        when(repository.findFirst(ArgumentMatchers.<Specification<Booking>>any(), any(), eq(1)))
+                .thenReturn(List.of(bookingDto));
+
+        CursorPage<BookingShortDto> page = bookingService.getByUserAndStateAfter(1L, "PAST",
+                new Cursor(getDateTime(5), 3L).encode(), 1);
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(Cursor.decode(page.getNext()).getKey()).isEqualTo(bookingDto.getEnd());
+        assertThat(Cursor.decode(page.getNext()).getId()).isEqualTo(bookingDto.getId());
+    }
+
+    @Test
+    public void getByOwnerAndStateAfterWithLastPage() {
+        when(repository.findFirst(ArgumentMatchers.<Specification<Booking>>any(), any(), eq(10)))
+                .thenReturn(List.of());
+
+        CursorPage<BookingShortDto> page = bookingService.getByOwnerAndStateAfter(1L, "ALL", "", 10);
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNext()).isNull();
+    }
+
+    @Test
+    public void getByUserAndStateAfterWithWrongCursor() {
+
+        assertThatThrownBy(() ->
+                bookingService.getByUserAndStateAfter(1L, "ALL", "not a cursor", 10))
+                .isInstanceOf(ValidationException.class);
+    }
+
     @Test
     public void getLastBooking() {
         BookingDto bookingDto = new BookingDto();
@@ -469,7 +532,7 @@ public class BookingServiceTest {
     public void getNextBooking() {
         BookingDto bookingDto = new BookingDto();
         Booking booking = new Booking();
-        when(repository.findFirstByItemIdAndStartAfter(any(), any(), any())).thenReturn(booking);
+        when(repository.findFirstByItemIdAndStartAfterAndEndAfter(any(), any(), any(), any())).thenReturn(booking);
         when(bookingMapper.convertToDto(booking)).thenReturn(bookingDto);
 
         BookingDto foundBooking = bookingService.getNextBooking(1L);
@@ -478,12 +541,45 @@ public class BookingServiceTest {
 
     @Test
     public void getNextBookingWithNull() {
-        when(repository.findFirstByItemIdAndStartAfter(any(), any(), any())).thenReturn(null);
+        when(repository.findFirstByItemIdAndStartAfterAndEndAfter(any(), any(), any(), any())).thenReturn(null);
 
         BookingDto foundBooking = bookingService.getNextBooking(1L);
         assertThat(foundBooking).isNull();
     }
 
+    @Test
+    public void getLastBookings() {
+        Item item = new Item(1L, "item", "desc", true, new User(), null);
+        Booking booking = new Booking(1L, null, null, item, new User(), null, BookingStatus.APPROVED, null);
+        BookingDto bookingDto = new BookingDto();
+        when(repository.findLastByItemIdIn(anyCollection(), any())).thenReturn(List.of(booking));
+        when(bookingMapper.convertToDto(booking)).thenReturn(bookingDto);
+
+        Map<Long, BookingDto> bookings = bookingService.getLastBookings(List.of(1L, 2L));
+        assertThat(bookings).hasSize(1);
+        assertThat(bookings.get(1L)).isSameAs(bookingDto);
+    }
+
+    @Test
+    public void getLastBookingsWithoutItems() {
+        Map<Long, BookingDto> bookings = bookingService.getLastBookings(List.of());
+        assertThat(bookings).isEmpty();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    public void getNextBookings() {
+        Item item = new Item(2L, "item", "desc", true, new User(), null);
+        Booking booking = new Booking(1L, null, null, item, new User(), null, BookingStatus.WAITING, null);
+        BookingDto bookingDto = new BookingDto();
+        when(repository.findNextByItemIdIn(anyCollection(), any())).thenReturn(List.of(booking));
+        when(bookingMapper.convertToDto(booking)).thenReturn(bookingDto);
+
+        Map<Long, BookingDto> bookings = bookingService.getNextBookings(List.of(1L, 2L));
+        assertThat(bookings).hasSize(1);
+        assertThat(bookings.get(2L)).isSameAs(bookingDto);
+    }
+
     private LocalDateTime getDateTime(int sec) {
         return LocalDateTime.now().plusSeconds(sec).truncatedTo(ChronoUnit.SECONDS);
     }
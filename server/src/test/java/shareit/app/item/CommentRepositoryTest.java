@@ -44,7 +44,7 @@ public class CommentRepositoryTest {
         booker = manager.persist(new User(null, "user 2", "asd@mail.com"));
         item = manager.persist(new Item(null, "item 1", "desc 1", true, owner, null));
         booking = manager.persist(new Booking(null, getLTD(2), getLTD(3), item, booker,
-                BookingStatus.APPROVED));
+                null, BookingStatus.APPROVED, null));
         comment = manager.persist(new Comment(null, "text", item, booker, getLTD(3)));
     }
 
@@ -0,0 +1,50 @@
+package shareit.app.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import shareit.app.item.dto.ItemDto;
+import shareit.app.user.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DatabaseItemSearchTest {
+
+    @InjectMocks
+    private DatabaseItemSearch itemSearch;
+
+    @Mock
+    private ItemRepository repository;
+
+    @Mock
+    private ItemMapper itemMapper;
+
+    @Test
+    public void search() {
+        ItemDto itemDto = new ItemDto(1L, "item", "desc", true, null);
+        Item item = new Item(1L, "item", "desc", true, new User(), null);
+        when(repository.getAllByText(eq("item"), eq("item"), any())).thenReturn(List.of(item));
+        when(itemMapper.convertToDto(List.of(item))).thenReturn(List.of(itemDto));
+
+        List<ItemDto> items = itemSearch.search("item", 0, 10);
+        assertThat(items).hasSize(1);
+        assertThat(items.get(0)).usingRecursiveComparison().isEqualTo(itemDto);
+    }
+
+    @Test
+    public void searchWithLikeWildcards() {
+        when(repository.getAllByText(eq("50\\%\\_off"), eq("50%_off"), any())).thenReturn(List.of());
+        when(itemMapper.convertToDto(List.of())).thenReturn(List.of());
+
+        List<ItemDto> items = itemSearch.search("50%_off", 0, 10);
+        assertThat(items).hasSize(0);
+    }
+}
@@ -0,0 +1,120 @@
+package shareit.app.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import shareit.app.item.dto.ItemDto;
+import shareit.app.user.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InMemoryItemSearchTest {
+
+    @Mock
+    private ItemRepository repository;
+
+    private InMemoryItemSearch itemSearch;
+
+    @BeforeEach
+    public void setUp() {
+        itemSearch = new InMemoryItemSearch(repository, new ItemMapper());
+        when(repository.getAllAvailable()).thenReturn(List.of(
+                new ItemDto(1L, "Дрель", "Простая дрель", true, null),
+                new ItemDto(2L, "Отвертка", "Аккумуляторная отвертка", true, null),
+                new ItemDto(3L, "Клей Момент", "Тюбик суперклея", true, 1L)));
+        itemSearch.build();
+    }
+
+    @Test
+    public void searchByName() {
+        List<ItemDto> items = itemSearch.search("дрель", 0, 10);
+        assertThat(items).extracting(ItemDto::getId).containsExactly(1L);
+    }
+
+    @Test
+    public void searchByDescription() {
+        List<ItemDto> items = itemSearch.search("аккумулятор", 0, 10);
+        assertThat(items).extracting(ItemDto::getId).containsExactly(2L);
+    }
+
+    @Test
+    public void searchByShortText() {
+        List<ItemDto> items = itemSearch.search("к", 0, 10);
+        assertThat(items).extracting(ItemDto::getId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    public void searchOrderedByRank() {
+        itemSearch.index(new Item(4L, "item", "desc", true, new User(), null));
+        itemSearch.index(new Item(5L, "second item", "desc2", true, new User(), null));
+        itemSearch.index(new Item(6L, "third item", "desc3", true, new User(), null));
+
+        List<ItemDto> items = itemSearch.search("item", 0, 10);
+        assertThat(items).extracting(ItemDto::getId).containsExactly(4L, 6L, 5L);
+    }
+
+    @Test
+    public void searchDoesNotMatchAcrossFields() {
+        List<ItemDto> items = itemSearch.search("дрельпрост", 0, 10);
+        assertThat(items).isEmpty();
+    }
+
+    @Test
+    public void searchWithPagination() {
+        List<ItemDto> items = itemSearch.search("р", 1, 1);
+        assertThat(items).extracting(ItemDto::getId).containsExactly(2L);
+    }
+
+    @Test
+    public void indexNewItem() {
+        itemSearch.index(new Item(4L, "Перфоратор", "Мощная дрель", true, new User(), null));
+
+        List<ItemDto> items = itemSearch.search("дрель", 0, 10);
+        assertThat(items).extracting(ItemDto::getId).containsExactly(1L, 4L);
+    }
+
+    @Test
+    public void indexUpdatedItem() {
+        itemSearch.index(new Item(1L, "Шуруповерт", "Простой шуруповерт", true, new User(), null));
+
+        assertThat(itemSearch.search("дрель", 0, 10)).isEmpty();
+        assertThat(itemSearch.search("шуруп", 0, 10)).extracting(ItemDto::getId).containsExactly(1L);
+    }
+
+    @Test
+    public void indexUnavailableItem() {
+        itemSearch.index(new Item(2L, "Отвертка", "Аккумуляторная отвертка", false, new User(), null));
+
+        assertThat(itemSearch.search("отвертка", 0, 10)).isEmpty();
+    }
+
+    @Test
+    public void indexInTransactionAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearch.index(new Item(4L, "Перфоратор", "Мощная дрель", true, new User(), null));
+            assertThat(itemSearch.search("перфоратор", 0, 10)).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(itemSearch.search("перфоратор", 0, 10)).extracting(ItemDto::getId).containsExactly(4L);
+    }
+
+    @Test
+    public void indexItemBeforeIndexedOnes() {
+        itemSearch.index(new Item(0L, "Дрель", "Старая дрель", true, new User(), null));
+
+        assertThat(itemSearch.search("дрель", 0, 10)).extracting(ItemDto::getId).containsExactly(0L, 1L);
+    }
+}
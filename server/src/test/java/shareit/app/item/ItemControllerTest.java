@@ -3,6 +3,7 @@ package shareit.app.item;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
@@ -16,12 +17,15 @@ import shareit.app.item.dto.CommentDto;
 import shareit.app.item.dto.ItemDto;
 import shareit.app.item.dto.OwnerItemDto;
 import shareit.app.user.User;
+import shareit.app.util.NdjsonResponses;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,6 +42,9 @@ public class ItemControllerTest {
     @MockitoBean
     private ItemService itemService;
 
+    @MockitoBean
+    private NdjsonResponses ndjson;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -69,6 +76,41 @@ public class ItemControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void addAllFromJsonArray() throws Exception {
+        List<ItemDto> items = List.of(new ItemDto(null, "1", "desc", true, null),
+                new ItemDto(null, "2", "desc", true, null));
+        when(itemService.addAll(any(), any())).thenAnswer(this::namesToIds);
+
+        mockMvc.perform(MockMvcRequestBuilders.post(url + "/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(objectMapper.writeValueAsString(items))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]", is(1)))
+                .andExpect(jsonPath("$[1]", is(2)));
+    }
+
+    @Test
+    public void addAllFromNdjson() throws Exception {
+        String body = objectMapper.writeValueAsString(new ItemDto(null, "1", "desc", true, null)) + "\n" +
+                objectMapper.writeValueAsString(new ItemDto(null, "2", "desc", true, null)) + "\n";
+        when(itemService.addAll(any(), any())).thenAnswer(this::namesToIds);
+
+        mockMvc.perform(MockMvcRequestBuilders.post(url + "/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(body)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1]", is(2)));
+    }
+
     @Test
     public void updateItem() throws Exception {
         ItemDto itemDto = new ItemDto(1L, "item", "desc", true, null);
@@ -364,6 +406,11 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[1].nextBooking", nullValue()));
     }
 
+    private List<Long> namesToIds(InvocationOnMock invocation) {
+        Stream<ItemDto> items = invocation.getArgument(1);
+        return items.map(item -> Long.valueOf(item.getName())).collect(Collectors.toList());
+    }
+
     private MockHttpServletRequestBuilder postRequest(ItemDto item, Long ownerId) throws JsonProcessingException {
         return MockMvcRequestBuilders.post(url)
                 .header("X-Sharer-User-Id", ownerId)
@@ -19,10 +19,14 @@ import shareit.app.user.dto.UserDto;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "shareit.items.import.batch-size=2",
+        "shareit.items.import.copy-threshold=2"
+})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public class ItemIntegrationTest {
 
@@ -74,6 +78,29 @@ public class ItemIntegrationTest {
         assertThat(foundItem.getAvailable()).isEqualTo(item.getAvailable());
     }
 
+    @Test
+    public void createAll() {
+        assertThat(itemService.getAllByRequestId(request.getId())).hasSize(1);
+
+        List<Long> ids = itemService.addAll(user1.getId(), Stream.of(
+                new ItemDto(null, "item 3", "desc 3", true, null),
+                new ItemDto(null, "item 4", "desc, \"quoted\"", false, null),
+                new ItemDto(null, "item 5", "line 1\nline 2", true, request.getId()),
+                new ItemDto(null, "item 6", null, true, null),
+                new ItemDto(null, "item 7", "", null, null)));
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+
+        List<OwnerItemDto> items = itemService.getByOwner(user1.getId(), 2, 10);
+        assertThat(items).extracting(OwnerItemDto::getId).containsExactlyElementsOf(ids);
+        assertThat(items).extracting(OwnerItemDto::getDescription)
+                .containsExactly("desc 3", "desc, \"quoted\"", "line 1\nline 2", null, "");
+        assertThat(items).extracting(OwnerItemDto::getAvailable)
+                .containsExactly(true, false, true, true, null);
+        assertThat(itemService.getAllByRequestId(request.getId()))
+                .extracting(ItemDto::getId)
+                .containsExactly(item2.getId(), ids.get(2));
+    }
+
     @Test
     public void update() {
         ItemDto item = itemService.update(item1.getId(), user1.getId(),
@@ -69,23 +69,44 @@ public class ItemRepositoryTest {
 
     @Test
     public void searchByTextInName() {
-        List<Item> items = repository.getAllByText("sec", Pageable.unpaged());
+        List<Item> items = repository.getAllByText("sec", "sec", Pageable.unpaged());
         assertThat(items).hasSize(1);
         assertThat(items).usingRecursiveComparison().isEqualTo(List.of(item2));
     }
 
     @Test
     public void searchByTextInDescription() {
-        List<Item> items = repository.getAllByText("ird", Pageable.unpaged());
+        List<Item> items = repository.getAllByText("ird", "ird", Pageable.unpaged());
         assertThat(items).hasSize(1);
         assertThat(items).usingRecursiveComparison().isEqualTo(List.of(item3));
     }
 
     @Test
     public void searchByTextWithPagination() {
-        List<Item> items = repository.getAllByText("it", new OffsetPageRequest(2, 2, Sort.unsorted()));
+        List<Item> items = repository.getAllByText("it", "it", new OffsetPageRequest(2, 2, Sort.unsorted()));
         assertThat(items).hasSize(1);
-        assertThat(items).usingRecursiveComparison().isEqualTo(List.of(item3));
+        assertThat(items).usingRecursiveComparison().isEqualTo(List.of(item2));
+    }
+
+    @Test
+    public void searchByTextOrderedByRank() {
+        List<Item> items = repository.getAllByText("item", "item", Pageable.unpaged());
+        assertThat(items).hasSize(3);
+        assertThat(items).usingRecursiveComparison().isEqualTo(List.of(item, item3, item2));
+    }
+
+    @Test
+    public void searchByTextWithEscapedWildcard() {
+        List<Item> items = repository.getAllByText("\\%", "%", Pageable.unpaged());
+        assertThat(items).isEmpty();
+    }
+
+    @Test
+    public void searchByTextWithWildcardInName() {
+        Item discount = manager.persist(new Item(null, "50% off", "desc", true, firstUser, null));
+
+        List<Item> items = repository.getAllByText("50\\%", "50%", Pageable.unpaged());
+        assertThat(items).usingRecursiveComparison().isEqualTo(List.of(discount));
     }
 
     @Test
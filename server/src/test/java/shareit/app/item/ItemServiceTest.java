@@ -15,13 +15,20 @@ import shareit.app.item.dto.OwnerItemDto;
 import shareit.app.user.User;
 import shareit.app.user.UserService;
 import shareit.app.user.dto.UserDto;
+import shareit.app.util.Cursor;
+import shareit.app.util.CursorPage;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,45 +55,71 @@ public class ItemServiceTest {
     @Mock
     private ItemRepository repository;
 
+    @Mock
+    private ItemSearch itemSearch;
+
+    @Mock
+    private ItemImporter importer;
+
     @Test
     public void addItem() {
         ItemDto itemDto = new ItemDto(1L, "item", "desc", true, null);
         Item item = new Item(1L, "item", "desc", true, new User(), null);
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
         when(itemMapper.convertFromDto(itemDto)).thenReturn(item);
         when(repository.save(any())).thenReturn(item);
         when(itemMapper.convertToDto(item)).thenReturn(itemDto);
 
         ItemDto savedItem = itemService.add(1L, itemDto);
         assertThat(savedItem).usingRecursiveComparison().isEqualTo(itemDto);
+        verify(itemSearch).index(item);
     }
 
     @Test
     public void addItemWithoutOwner() {
-        when(userService.getById(anyLong())).thenThrow(ObjectNotFoundException.class);
+        doThrow(ObjectNotFoundException.class).when(userService).requireExists(anyLong());
 
         assertThatThrownBy(() ->
                 itemService.add(1L, new ItemDto()))
                 .isInstanceOf(ObjectNotFoundException.class);
     }
 
+    @Test
+    public void addAllItems() {
+        Stream<ItemDto> itemDtos = Stream.of(new ItemDto(null, "item", "desc", true, null));
+        Item item = new Item(1L, "item", "desc", true, new User(), null);
+        when(importer.insert(1L, itemDtos)).thenReturn(List.of(item));
+
+        assertThat(itemService.addAll(1L, itemDtos)).containsExactly(1L);
+        verify(userService).requireExists(1L);
+        verify(itemSearch).index(item);
+    }
+
+    @Test
+    public void addAllItemsWithoutOwner() {
+        doThrow(ObjectNotFoundException.class).when(userService).requireExists(anyLong());
+
+        assertThatThrownBy(() ->
+                itemService.addAll(1L, Stream.empty()))
+                .isInstanceOf(ObjectNotFoundException.class);
+        verifyNoInteractions(importer);
+    }
+
     @Test
     public void updateItem() {
         ItemDto itemDto = new ItemDto(1L, "new item", "new desc", false, null);
         Item item = new Item(1L, "item", "desc", true, new User(), null);
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
         when(repository.getByIdAndOwnerId(any(), any())).thenReturn(Optional.of(item));
         when(itemMapper.convertToDto(item)).thenReturn(itemDto);
 
         ItemDto savedItem = itemService.update(itemDto.getId(), 1L, itemDto);
         assertThat(savedItem).usingRecursiveComparison().isEqualTo(itemDto);
+        verify(itemSearch).index(item);
     }
 
     @Test
     public void updateItemWithOnlyName() {
         ItemDto itemDto = new ItemDto(1L, "new item", null, null, null);
         Item item = new Item(1L, "item", "desc", true, new User(), null);
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
         when(repository.getByIdAndOwnerId(any(), any())).thenReturn(Optional.of(item));
         when(itemMapper.convertToDto(item)).thenReturn(new ItemDto(1L, "new item", "desc",
                 true, null));
@@ -102,7 +135,6 @@ public class ItemServiceTest {
     public void updateItemWithOnlyDescription() {
         ItemDto itemDto = new ItemDto(1L, null, "new desc", null, null);
         Item item = new Item(1L, "item", "desc", true, new User(), null);
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
         when(repository.getByIdAndOwnerId(any(), any())).thenReturn(Optional.of(item));
         when(itemMapper.convertToDto(item)).thenReturn(new ItemDto(1L, "item", "new desc",
                 true, null));
@@ -118,7 +150,6 @@ public class ItemServiceTest {
     public void updateItemWithOnlyAvailable() {
         ItemDto itemDto = new ItemDto(1L, null, null, false, null);
         Item item = new Item(1L, "item", "desc", true, new User(), null);
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
         when(repository.getByIdAndOwnerId(any(), any())).thenReturn(Optional.of(item));
         when(itemMapper.convertToDto(item)).thenReturn(new ItemDto(1L, "item", "desc",
                 false, null));
@@ -132,7 +163,6 @@ public class ItemServiceTest {
 
     @Test
     public void updateItemByWrongOwner() {
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
 
         assertThatThrownBy(() ->
                 itemService.update(1L, 1L, new ItemDto()))
@@ -142,7 +172,7 @@ public class ItemServiceTest {
     @Test
     public void updateItemWithoutOwner() {
         ItemDto itemDto = new ItemDto(1L, "item", "desc", true, null);
-        when(userService.getById(anyLong())).thenThrow(ObjectNotFoundException.class);
+        doThrow(ObjectNotFoundException.class).when(userService).requireExists(anyLong());
 
         assertThatThrownBy(() ->
                 itemService.update(itemDto.getId(), 1L, itemDto))
@@ -215,8 +245,10 @@ public class ItemServiceTest {
                 BookingStatus.WAITING);
         when(ownerItemMapper.convertToDto(List.of(item, item2))).thenReturn(List.of(itemDto, itemDto2));
         when(repository.getAllByOwnerId(anyLong(), any())).thenReturn(List.of(item, item2));
-        when(bookingService.getLastBooking(item.getId())).thenReturn(lastBooking);
-        when(bookingService.getNextBooking(item.getId())).thenReturn(nextBooking);
+        when(bookingService.getLastBookings(List.of(item.getId(), item2.getId())))
+                .thenReturn(Map.of(item.getId(), lastBooking));
+        when(bookingService.getNextBookings(List.of(item.getId(), item2.getId())))
+                .thenReturn(Map.of(item.getId(), nextBooking));
 
         List<OwnerItemDto> savedItems = itemService.getByOwner(item.getOwner().getId(), 0, 10);
         assertThat(savedItems.get(0).getId()).isEqualTo(itemDto.getId());
@@ -231,6 +263,30 @@ public class ItemServiceTest {
         assertThat(savedItems.get(1)).usingRecursiveComparison().isEqualTo(itemDto2);
     }
 
+    @Test
+    public void getByOwnerAfter() {
+        OwnerItemDto itemDto = new OwnerItemDto(3L, "item", "desc", true,
+                null, null, List.of(), null);
+        Item item = new Item(3L, "item", "desc", true,
+                new User(1L, "name", "desc"), null);
+        when(repository.getAllByOwnerIdAndIdGreaterThan(eq(1L), eq(2L), any())).thenReturn(List.of(item));
+        when(ownerItemMapper.convertToDto(List.of(item))).thenReturn(List.of(itemDto));
+
+        CursorPage<OwnerItemDto> page = itemService.getByOwnerAfter(1L, new Cursor(null, 2L).encode(), 1);
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(Cursor.decode(page.getNext()).getId()).isEqualTo(item.getId());
+    }
+
+    @Test
+    public void getByOwnerAfterWithoutUserExist() {
+        doThrow(ObjectNotFoundException.class).when(userService).requireExists(anyLong());
+
+        assertThatThrownBy(() ->
+                itemService.getByOwnerAfter(1L, null, 10))
+                .isInstanceOf(ObjectNotFoundException.class);
+        verifyNoInteractions(repository);
+    }
+
     @Test
     public void geAllByWrongOwner() {
         when(ownerItemMapper.convertToDto(List.of())).thenReturn(List.of());
@@ -243,12 +299,10 @@ public class ItemServiceTest {
     @Test
     public void searchByName() {
         ItemDto itemDto = new ItemDto(1L, "item", "desc", true, null);
-        Item item = new Item(1L, "item", "desc", true, new User(), null);
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
-        when(repository.getAllByText(anyString(), any())).thenReturn(List.of(item));
-        when(itemMapper.convertToDto(anyList())).thenReturn(List.of(itemDto));
+        when(itemSearch.search(anyString(), any(), any())).thenReturn(List.of(itemDto));
 
         List<ItemDto> items = itemService.searchByText(1L, "ItEm", 0, 10);
+        verify(itemSearch).search("item", 0, 10);
         assertThat(items).hasSize(1);
         assertThat(items.get(0)).usingRecursiveComparison().isEqualTo(itemDto);
     }
@@ -256,23 +310,20 @@ public class ItemServiceTest {
     @Test
     public void searchByDescription() {
         ItemDto itemDto = new ItemDto(1L, "item", "desc", true, null);
-        Item item = new Item(1L, "item", "desc", true, new User(), null);
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
-        when(repository.getAllByText(anyString(), any())).thenReturn(List.of(item));
-        when(itemMapper.convertToDto(anyList())).thenReturn(List.of(itemDto));
+        when(itemSearch.search(anyString(), any(), any())).thenReturn(List.of(itemDto));
 
         List<ItemDto> items = itemService.searchByText(1L, "DESC   ", 0, 10);
+        verify(itemSearch).search("desc", 0, 10);
         assertThat(items).hasSize(1);
         assertThat(items.get(0)).usingRecursiveComparison().isEqualTo(itemDto);
     }
 
     @Test
     public void searchWithEmptyText() {
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
-        when(itemMapper.convertToDto(anyList())).thenReturn(List.of());
 
         List<ItemDto> items = itemService.searchByText(1L, "   ", 0, 10);
         assertThat(items).hasSize(0);
+        verifyNoInteractions(itemSearch);
     }
 
     @Test
@@ -304,4 +355,29 @@ public class ItemServiceTest {
         List<ItemDto> savedItems = itemService.getAllByRequestId(1L);
         assertThat(savedItems).hasSize(0);
     }
+
+    @Test
+    public void getAllByRequestIds() {
+        ItemDto itemDto = new ItemDto(1L, "item", "desc", true, 1L);
+        ItemDto itemDto2 = new ItemDto(2L, "item2", "desc2", true, 2L);
+        ItemDto itemDto3 = new ItemDto(3L, "item3", "desc3", true, 1L);
+        Item item = new Item(1L, "item", "desc", true, new User(), null);
+        Item item2 = new Item(2L, "item2", "desc2", true, new User(), null);
+        Item item3 = new Item(3L, "item3", "desc3", true, new User(), null);
+        when(repository.getAllByRequestIdIn(List.of(1L, 2L))).thenReturn(List.of(item, item2, item3));
+        when(itemMapper.convertToDto(item)).thenReturn(itemDto);
+        when(itemMapper.convertToDto(item2)).thenReturn(itemDto2);
+        when(itemMapper.convertToDto(item3)).thenReturn(itemDto3);
+
+        Map<Long, List<ItemDto>> savedItems = itemService.getAllByRequestIds(List.of(1L, 2L));
+        assertThat(savedItems).hasSize(2);
+        assertThat(savedItems.get(1L)).containsExactly(itemDto, itemDto3);
+        assertThat(savedItems.get(2L)).containsExactly(itemDto2);
+    }
+
+    @Test
+    public void getAllByEmptyRequestIds() {
+        Map<Long, List<ItemDto>> savedItems = itemService.getAllByRequestIds(List.of());
+        assertThat(savedItems).isEmpty();
+    }
 }
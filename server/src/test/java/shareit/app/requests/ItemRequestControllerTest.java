@@ -11,6 +11,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import shareit.app.requests.dto.ItemRequestDto;
+import shareit.app.util.NdjsonResponses;
 
 import java.util.List;
 
@@ -30,6 +31,9 @@ public class ItemRequestControllerTest {
     @MockitoBean
     private ItemRequestService service;
 
+    @MockitoBean
+    private NdjsonResponses ndjson;
+
     @Autowired
     private ObjectMapper objectMapper;
 
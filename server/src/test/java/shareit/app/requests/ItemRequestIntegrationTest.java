@@ -1,11 +1,15 @@
 package shareit.app.requests;
 
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.jdbc.core.JdbcTemplate;
+import shareit.app.item.ItemService;
+import shareit.app.item.dto.ItemDto;
 import shareit.app.requests.dto.ItemRequestDto;
 import shareit.app.user.UserService;
 import shareit.app.user.dto.UserDto;
@@ -14,7 +18,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+@SpringBootTest(properties = "decorator.datasource.datasource-proxy.count-query=true")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public class ItemRequestIntegrationTest {
 
@@ -24,6 +28,9 @@ public class ItemRequestIntegrationTest {
     @Autowired
     private ItemRequestService requestService;
 
+    @Autowired
+    private ItemService itemService;
+
     @Autowired
     private JdbcTemplate jdbc;
 
@@ -89,6 +96,26 @@ public class ItemRequestIntegrationTest {
         assertThat(request.getItems()).isNotNull();
     }
 
+    @Test
+    public void getAllExceptRequesterWithConstantQueryCount() {
+        for (ItemRequestDto request : List.of(request2, request3)) {
+            itemService.add(user1.getId(), new ItemDto(null, "item", "desc", true, request.getId()));
+            itemService.add(user1.getId(), new ItemDto(null, "item", "desc", true, request.getId()));
+        }
+
+        long selectsBefore = QueryCountHolder.getGrandTotal().getSelect();
+        long totalBefore = QueryCountHolder.getGrandTotal().getTotal();
+        List<ItemRequestDto> requests = requestService.getAllExceptRequester(user1.getId(), 0, 5);
+        QueryCount after = QueryCountHolder.getGrandTotal();
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getItems()).hasSize(2);
+        assertThat(requests.get(1).getItems()).hasSize(2);
+        // запросы + предметы; проверку пользователя обслуживает кэш
+        assertThat(after.getSelect() - selectsBefore).isEqualTo(2);
+        assertThat(after.getTotal() - totalBefore).isEqualTo(2);
+    }
+
     void cleanDatabase() {
         jdbc.execute("DELETE FROM bookings");
         jdbc.execute("DELETE FROM comments");
@@ -46,7 +46,7 @@ public class ItemRequestRepositoryTest {
 
     @Test
     public void findAllByRequesterId() {
-        List<ItemRequest> requests = requestRepository.findAllByRequesterId(user2.getId(), Sort.unsorted());
+        List<ItemRequest> requests = requestRepository.findAllByRequesterId(user2.getId(), Sort.by("id"));
 
         assertThat(requests).hasSize(2);
         assertThat(requests.get(0).getId()).isEqualTo(request1.getId());
@@ -57,7 +57,8 @@ public class ItemRequestRepositoryTest {
 
     @Test
     public void findAllByRequesterIdNot() {
-        List<ItemRequest> requests = requestRepository.findAllByRequesterIdNot(user1.getId(), Pageable.unpaged());
+        List<ItemRequest> requests = requestRepository.findAllByRequesterIdNot(user1.getId(),
+                Pageable.unpaged(Sort.by("id")));
 
         assertThat(requests).hasSize(2);
         assertThat(requests.get(0).getId()).isEqualTo(request1.getId());
@@ -12,15 +12,19 @@ import shareit.app.requests.dto.ItemRequestDto;
 import shareit.app.user.User;
 import shareit.app.user.UserService;
 import shareit.app.user.dto.UserDto;
+import shareit.app.util.Cursor;
+import shareit.app.util.CursorPage;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,19 +49,19 @@ public class ItemRequestServiceTest {
     public void addRequest() {
         ItemRequestDto requestDto = new ItemRequestDto(1L, "text", LocalDateTime.now(), List.of());
         ItemRequest request = new ItemRequest(1L, null, new User(), null);
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
         when(requestMapper.convertFromDto(any())).thenReturn(request);
         when(repository.save(any())).thenReturn(request);
         when(requestMapper.convertToDto(request)).thenReturn(requestDto);
 
         ItemRequestDto savedRequest = requestService.add(1L, requestDto);
         assertThat(savedRequest).usingRecursiveComparison().isEqualTo(requestDto);
+        assertThat(request.getCreated().getNano() % 1000).isZero();
         verify(repository, times(1)).save(any());
     }
 
     @Test
     public void addRequestWithoutUserExist() {
-        when(userService.getById(anyLong())).thenThrow(ObjectNotFoundException.class);
+        doThrow(ObjectNotFoundException.class).when(userService).requireExists(anyLong());
 
         assertThatThrownBy(() ->
                 requestService.add(1L, new ItemRequestDto()))
@@ -70,10 +74,10 @@ public class ItemRequestServiceTest {
         ItemRequest request = new ItemRequest(1L, "text", new User(), LocalDateTime.now());
         ItemDto item = new ItemDto(1L, "item", "desc", true, 1L);
         ItemDto item2 = new ItemDto(2L, "item2", "desc2", true, 1L);
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
         when(repository.findAllByRequesterId(any(), any())).thenReturn(List.of(request));
         when(requestMapper.convertToDto(request)).thenReturn(requestDto);
-        when(itemService.getAllByRequestId(anyLong())).thenReturn(List.of(item, item2));
+        when(itemService.getAllByRequestIds(List.of(request.getId())))
+                .thenReturn(Map.of(request.getId(), List.of(item, item2)));
 
         List<ItemRequestDto> requests = requestService.getAllByRequester(1L);
         assertThat(requests).hasSize(1);
@@ -83,7 +87,7 @@ public class ItemRequestServiceTest {
 
     @Test
     public void getAllByRequesterWithoutUserExist() {
-        when(userService.getById(anyLong())).thenThrow(ObjectNotFoundException.class);
+        doThrow(ObjectNotFoundException.class).when(userService).requireExists(anyLong());
 
         assertThatThrownBy(() ->
                 requestService.getAllByRequester(1L))
@@ -96,10 +100,10 @@ public class ItemRequestServiceTest {
         ItemRequest request = new ItemRequest(1L, "text", new User(), LocalDateTime.now());
         ItemDto item = new ItemDto(1L, "item", "desc", true, 1L);
         ItemDto item2 = new ItemDto(2L, "item2", "desc2", true, 1L);
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
         when(repository.findAllByRequesterIdNot(any(), any())).thenReturn(List.of(request));
         when(requestMapper.convertToDto(request)).thenReturn(requestDto);
-        when(itemService.getAllByRequestId(anyLong())).thenReturn(List.of(item, item2));
+        when(itemService.getAllByRequestIds(List.of(request.getId())))
+                .thenReturn(Map.of(request.getId(), List.of(item, item2)));
 
         List<ItemRequestDto> requests = requestService.getAllExceptRequester(1L, 0, 10);
         assertThat(requests).hasSize(1);
@@ -107,9 +111,25 @@ public class ItemRequestServiceTest {
         verify(repository, times(1)).findAllByRequesterIdNot(any(), any());
     }
 
+    @Test
+    public void getAllExceptRequesterAfter() {
+        LocalDateTime created = LocalDateTime.now();
+        ItemRequestDto requestDto = new ItemRequestDto(1L, "text", created, List.of());
+        ItemRequest request = new ItemRequest(1L, "text", new User(), created);
+        Cursor cursor = new Cursor(created.plusDays(1), 5L);
+        when(repository.findAllByRequesterIdNotAfter(eq(1L), eq(cursor.getKey()), eq(cursor.getId()), any()))
+                .thenReturn(List.of(request));
+        when(requestMapper.convertToDto(request)).thenReturn(requestDto);
+
+        CursorPage<ItemRequestDto> page = requestService.getAllExceptRequesterAfter(1L, cursor.encode(), 1);
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(Cursor.decode(page.getNext()).getId()).isEqualTo(requestDto.getId());
+        verify(repository, never()).findAllByRequesterIdNot(any(), any());
+    }
+
     @Test
     public void getAllExceptRequesterWithoutUserExist() {
-        when(userService.getById(anyLong())).thenThrow(ObjectNotFoundException.class);
+        doThrow(ObjectNotFoundException.class).when(userService).requireExists(anyLong());
 
         assertThatThrownBy(() ->
                 requestService.getAllExceptRequester(1L, 0, 10))
@@ -122,7 +142,6 @@ public class ItemRequestServiceTest {
         ItemDto item = new ItemDto(1L, "item", "desc", true, 1L);
         ItemDto item2 = new ItemDto(2L, "item2", "desc2", true, 1L);
         ItemRequest request = new ItemRequest();
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
         when(repository.findById(anyLong())).thenReturn(Optional.of(request));
         when(requestMapper.convertToDto(request)).thenReturn(requestDto);
         when(itemService.getAllByRequestId(anyLong())).thenReturn(List.of(item, item2));
@@ -134,7 +153,7 @@ public class ItemRequestServiceTest {
 
     @Test
     public void getByIdWithoutUserExist() {
-        when(userService.getById(anyLong())).thenReturn(null);
+        doThrow(ObjectNotFoundException.class).when(userService).requireExists(anyLong());
 
         assertThatThrownBy(() ->
                 requestService.getById(1L, 1L))
@@ -143,7 +162,6 @@ public class ItemRequestServiceTest {
 
     @Test
     public void getByIdWithoutRequestExist() {
-        when(userService.getById(anyLong())).thenReturn(new UserDto());
         when(repository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() ->
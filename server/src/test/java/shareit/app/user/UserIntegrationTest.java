@@ -1,13 +1,18 @@
 package shareit.app.user;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import shareit.app.exception.ObjectNotFoundException;
 import shareit.app.user.dto.UserDto;
+import shareit.app.util.CacheConfig;
 
 import java.util.List;
 
@@ -24,6 +29,12 @@ public class UserIntegrationTest {
     @Autowired
     private JdbcTemplate jdbc;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private UserDto user1;
     private UserDto user2;
 
@@ -82,6 +93,87 @@ public class UserIntegrationTest {
                 .isInstanceOf(ObjectNotFoundException.class);
     }
 
+    @Test
+    public void getByIdIsCached() {
+        userService.getById(user1.getId());
+        jdbc.update("UPDATE users SET name = 'changed' WHERE user_id = ?", user1.getId());
+
+        assertThat(userService.getById(user1.getId()).getName()).isEqualTo("name");
+        assertThat(getCache().get(user1.getId())).isNotNull();
+    }
+
+    @Test
+    public void updateRefreshesCache() {
+        userService.getById(user1.getId());
+        userService.update(user1.getId(), new UserDto(null, "qwerty", null));
+
+        assertThat(getCache().get(user1.getId(), UserDto.class).getName()).isEqualTo("qwerty");
+        assertThat(userService.getById(user1.getId()).getName()).isEqualTo("qwerty");
+    }
+
+    @Test
+    public void failedUpdateKeepsCache() {
+        userService.getById(user1.getId());
+
+        assertThatThrownBy(() -> userService.update(user1.getId(), new UserDto(null, null, user2.getEmail())))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(userService.getById(user1.getId()).getEmail()).isEqualTo("qwe@qwerty.com");
+    }
+
+    @Test
+    public void deleteEvictsCache() {
+        userService.getById(user1.getId());
+        userService.delete(user1.getId());
+
+        assertThat(getCache().get(user1.getId())).isNull();
+    }
+
+    @Test
+    public void requireExistsIsCached() {
+        userService.requireExists(user1.getId());
+        jdbc.update("DELETE FROM users WHERE user_id = ?", user1.getId());
+
+        assertThat(cacheManager.getCache(CacheConfig.USER_IDS).get(user1.getId(), Long.class))
+                .isEqualTo(user1.getId());
+
+        userService.requireExists(user1.getId());
+        assertThatThrownBy(() -> userService.requireExists(-1L))
+                .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    public void deleteEvictsExistenceCache() {
+        userService.requireExists(user1.getId());
+        userService.delete(user1.getId());
+
+        assertThatThrownBy(() -> userService.requireExists(user1.getId()))
+                .isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    public void cacheMetricsArePublished() {
+        double hits = getCacheGets("hit");
+        double misses = getCacheGets("miss");
+
+        userService.getById(user2.getId());
+        userService.getById(user2.getId());
+
+        assertThat(getCacheGets("miss")).isEqualTo(misses + 1);
+        assertThat(getCacheGets("hit")).isEqualTo(hits + 1);
+    }
+
+    private Cache getCache() {
+        return cacheManager.getCache(CacheConfig.USERS);
+    }
+
+    private double getCacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CacheConfig.USERS)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
     void cleanDatabase() {
         jdbc.execute("DELETE FROM bookings");
         jdbc.execute("DELETE FROM comments");
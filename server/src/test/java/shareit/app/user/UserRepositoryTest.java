@@ -41,7 +41,7 @@ public class UserRepositoryTest {
     @Test
     void saveWithExistingMail() {
         assertThatThrownBy(() ->
-                repository.save(new User(null, "test2", "test@mail.com")))
+                repository.saveAndFlush(new User(null, "test2", "test@mail.com")))
                 .isInstanceOf(DataIntegrityViolationException.class);
     }
 
@@ -161,4 +161,21 @@ public class UserServiceTest {
                 userService.delete(1L))
                 .isInstanceOf(ObjectNotFoundException.class);
     }
+
+    @Test
+    public void requireExistingUser() {
+        when(repository.existsById(anyLong())).thenReturn(true);
+
+        assertThat(userService.requireExists(1L)).isEqualTo(1L);
+        verify(repository, times(1)).existsById(1L);
+        verifyNoInteractions(userMapper);
+    }
+
+    @Test
+    public void requireNotExistingUser() {
+        when(repository.existsById(anyLong())).thenReturn(false);
+
+        assertThatThrownBy(() -> userService.requireExists(1L))
+                .isInstanceOf(ObjectNotFoundException.class);
+    }
 }
@@ -0,0 +1,45 @@
+package shareit.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchesTest {
+
+    @Test
+    public void splitIntoBatches() {
+        assertThat(Batches.of(Stream.of(1, 2, 3, 4, 5), 2))
+                .containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+    }
+
+    @Test
+    public void splitEmpty() {
+        assertThat(Batches.of(Stream.empty(), 2)).isEmpty();
+    }
+
+    @Test
+    public void readLazily() {
+        AtomicInteger read = new AtomicInteger();
+
+        List<Integer> first = Batches.of(Stream.iterate(1, i -> i + 1).peek(i -> read.incrementAndGet()), 3)
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(first).containsExactly(1, 2, 3);
+        assertThat(read.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void closeSource() {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        Batches.of(Stream.of(1, 2).onClose(() -> closed.set(true)), 2).close();
+
+        assertThat(closed).isTrue();
+    }
+}
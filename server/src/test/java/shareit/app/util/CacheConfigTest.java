@@ -0,0 +1,148 @@
+package shareit.app.util;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import shareit.app.booking.Booking;
+import shareit.app.booking.BookingRepository;
+import shareit.app.booking.BookingStatus;
+import shareit.app.item.Comment;
+import shareit.app.item.CommentRepository;
+import shareit.app.item.Item;
+import shareit.app.item.ItemRepository;
+import shareit.app.requests.ItemRequest;
+import shareit.app.requests.ItemRequestRepository;
+import shareit.app.user.User;
+import shareit.app.user.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class CacheConfigTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Statistics statistics;
+    private User user;
+    private ItemRequest request;
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        jdbc.execute("DELETE FROM bookings");
+        jdbc.execute("DELETE FROM comments");
+        jdbc.execute("DELETE FROM items");
+        jdbc.execute("DELETE FROM requests");
+        jdbc.execute("DELETE FROM users");
+        entityManagerFactory.getCache().evictAll();
+
+        user = userRepository.save(new User(null, "user", "user@mail.com"));
+        request = requestRepository.save(new ItemRequest(null, "request", user, LocalDateTime.now()));
+        item = itemRepository.save(new Item(null, "item", "desc", true, user, request));
+        commentRepository.save(new Comment(null, "comment", item, user, LocalDateTime.now()));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void readEntitiesFromCache() {
+        Runnable findAll = () -> {
+            userRepository.findById(user.getId()).orElseThrow();
+            itemRepository.findById(item.getId()).orElseThrow();
+            requestRepository.findById(request.getId()).orElseThrow();
+        };
+        inTransaction(findAll);
+        statistics.clear();
+
+        inTransaction(findAll);
+
+        assertThat(hits(CacheConfig.USER_REGION)).isPositive();
+        assertThat(hits(CacheConfig.ITEM_REGION)).isEqualTo(1);
+        assertThat(hits(CacheConfig.ITEM_REQUEST_REGION)).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    public void cacheCommentsByItem() {
+        inTransaction(() -> commentRepository.findAllByItemId(item.getId()));
+        inTransaction(() -> assertThat(commentRepository.findAllByItemId(item.getId())).hasSize(1));
+
+        assertThat(statistics.getQueryRegionStatistics(CacheConfig.COMMENTS_BY_ITEM_REGION).getMissCount())
+                .isEqualTo(1);
+        assertThat(statistics.getQueryRegionStatistics(CacheConfig.COMMENTS_BY_ITEM_REGION).getHitCount())
+                .isEqualTo(1);
+
+        commentRepository.save(new Comment(null, "another", item, user, LocalDateTime.now()));
+
+        inTransaction(() -> assertThat(commentRepository.findAllByItemId(item.getId())).hasSize(2));
+        assertThat(statistics.getQueryRegionStatistics(CacheConfig.COMMENTS_BY_ITEM_REGION).getMissCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void cacheItemsByRequest() {
+        inTransaction(() -> itemRepository.getAllByRequestId(request.getId()));
+        inTransaction(() -> assertThat(itemRepository.getAllByRequestId(request.getId())).hasSize(1));
+
+        assertThat(statistics.getQueryRegionStatistics(CacheConfig.ITEMS_BY_REQUEST_REGION).getHitCount())
+                .isEqualTo(1);
+
+        itemRepository.save(new Item(null, "another", "desc", true, user, request));
+
+        inTransaction(() -> assertThat(itemRepository.getAllByRequestId(request.getId())).hasSize(2));
+        assertThat(statistics.getQueryRegionStatistics(CacheConfig.ITEMS_BY_REQUEST_REGION).getMissCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void notCacheBookings() {
+        Booking booking = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), item, user, null, BookingStatus.WAITING, null));
+
+        inTransaction(() -> bookingRepository.findById(booking.getId()).orElseThrow());
+
+        assertThat(entityManagerFactory.getCache().contains(Booking.class, booking.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isTrue();
+    }
+
+    private long hits(String region) {
+        return statistics.getDomainDataRegionStatistics(region).getHitCount();
+    }
+
+    private void inTransaction(Runnable action) {
+        transactionTemplate.executeWithoutResult(status -> action.run());
+    }
+}
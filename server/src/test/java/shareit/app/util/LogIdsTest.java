@@ -0,0 +1,29 @@
+package shareit.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogIdsTest {
+
+    @Test
+    public void printSizeAndIds() {
+        assertThat(LogIds.of(List.of(3L, 1L, 2L), Function.identity())).hasToString("3 [3, 1, 2]");
+    }
+
+    @Test
+    public void printEmpty() {
+        assertThat(LogIds.of(List.of(), Function.identity())).hasToString("0 []");
+    }
+
+    @Test
+    public void truncateLongList() {
+        List<Long> ids = LongStream.rangeClosed(1, 25).boxed().toList();
+
+        assertThat(LogIds.of(ids, Function.identity())).hasToString("25 [1, 2, 3, 4, 5, 6, 7, 8, 9, 10, ...]");
+    }
+}
@@ -0,0 +1,85 @@
+package shareit.app.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import shareit.app.user.UserService;
+import shareit.app.user.dto.UserDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private UserDto user;
+
+    @BeforeEach
+    public void setUp() {
+        jdbc.execute("DELETE FROM bookings");
+        jdbc.execute("DELETE FROM comments");
+        jdbc.execute("DELETE FROM items");
+        jdbc.execute("DELETE FROM requests");
+        jdbc.execute("DELETE FROM users");
+        user = userService.add(new UserDto(null, "user", "user@mail.com"));
+    }
+
+    @Test
+    public void exposeServiceRepositoryAndQueryMetrics() throws Exception {
+        mockMvc.perform(get("/bookings?state=ALL&from=0&size=10")
+                        .header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk());
+
+        String metrics = scrape();
+
+        assertThat(metrics)
+                .contains("shareit_service_seconds_count{application=\"share-it-server\"," +
+                        "class=\"shareit.app.booking.BookingServiceImpl\",exception=\"none\"," +
+                        "method=\"getByUserAndState\"}")
+                .contains("spring_data_repository_invocations_seconds_count{application=\"share-it-server\"," +
+                        "exception=\"None\",method=\"findByBookerId\",repository=\"BookingRepository\"," +
+                        "state=\"SUCCESS\"}")
+                .contains("shareit_http_server_queries_count{application=\"share-it-server\"," +
+                        "method=\"GET\",uri=\"/bookings\"} 1")
+                .contains("hikaricp_connections_active")
+                .doesNotContain("=\"" + user.getId() + "\"");
+    }
+
+    @Test
+    public void tagQueryCountWithPathTemplate() throws Exception {
+        mockMvc.perform(get("/users/{userId}", user.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(scrape())
+                .contains("shareit_http_server_queries_count{application=\"share-it-server\"," +
+                        "method=\"GET\",uri=\"/users/{userId}\"}")
+                .doesNotContain("uri=\"/users/" + user.getId() + "\"");
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+}
@@ -0,0 +1,142 @@
+package shareit.app.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import shareit.app.booking.BookingService;
+import shareit.app.booking.dto.BookingDto;
+import shareit.app.item.ItemService;
+import shareit.app.item.dto.ItemDto;
+import shareit.app.requests.ItemRequestService;
+import shareit.app.requests.dto.ItemRequestDto;
+import shareit.app.user.UserService;
+import shareit.app.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class NdjsonResponsesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRequestService requestService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private UserDto owner;
+    private UserDto booker;
+
+    @BeforeEach
+    public void setUp() {
+        cleanDatabase();
+
+        owner = userService.add(new UserDto(null, "owner", "owner@mail.com"));
+        booker = userService.add(new UserDto(null, "booker", "booker@mail.com"));
+        ItemRequestDto request = requestService.add(booker.getId(), new ItemRequestDto(null, "request", null, null));
+        for (int i = 1; i <= 5; i++) {
+            ItemDto item = itemService.add(owner.getId(),
+                    new ItemDto(null, "item " + i, "desc " + i, true, i % 2 == 0 ? request.getId() : null));
+            bookingService.add(booker.getId(), new BookingDto(null, getLTD(i), getLTD(i + 1), null, item.getId(),
+                    null, null, null));
+        }
+        requestService.add(booker.getId(), new ItemRequestDto(null, "other request", null, null));
+    }
+
+    @Test
+    public void streamBookings() throws Exception {
+        assertSameAsList("/bookings?state=ALL&from=1&size=3", booker.getId(), 3);
+        assertSameAsList("/bookings/owner?state=FUTURE&from=0&size=10", owner.getId(), 5);
+    }
+
+    @Test
+    public void streamItems() throws Exception {
+        assertSameAsList("/items?from=0&size=4", owner.getId(), 4);
+        assertSameAsList("/items/search?text=DESC&from=0&size=10", booker.getId(), 5);
+    }
+
+    @Test
+    public void streamRequests() throws Exception {
+        List<JsonNode> requests = assertSameAsList("/requests/all?from=0&size=10", owner.getId(), 2);
+
+        assertThat(requests).anySatisfy(request -> assertThat(request.get("items")).hasSize(2));
+    }
+
+    @Test
+    public void streamForUnknownUser() throws Exception {
+        MvcResult result = mockMvc.perform(get("/bookings?state=ALL&size=10")
+                        .header("X-Sharer-User-Id", -1)
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(404);
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private List<JsonNode> assertSameAsList(String url, Long userId, int size) throws Exception {
+        MvcResult streamed = mockMvc.perform(get(url)
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        MvcResult dispatched = mockMvc.perform(asyncDispatch(streamed)).andReturn();
+        assertThat(dispatched.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : dispatched.getResponse().getContentAsString().split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+
+        JsonNode list = objectMapper.readTree(mockMvc.perform(get(url)
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+        assertThat(rows).hasSize(size);
+        assertThat(rows).containsExactlyElementsOf(list);
+        return rows;
+    }
+
+    private LocalDateTime getLTD(int days) {
+        return LocalDateTime.now().plusDays(days).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    void cleanDatabase() {
+        jdbc.execute("DELETE FROM bookings");
+        jdbc.execute("DELETE FROM comments");
+        jdbc.execute("DELETE FROM items");
+        jdbc.execute("DELETE FROM requests");
+        jdbc.execute("DELETE FROM users");
+    }
+}
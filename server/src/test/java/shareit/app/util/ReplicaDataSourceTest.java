@@ -0,0 +1,136 @@
+package shareit.app.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica1;
+    @Mock
+    private DataSource replica2;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection1;
+    @Mock
+    private Connection replicaConnection2;
+
+    private ReadYourWrites readYourWrites;
+    private ReplicaDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        readYourWrites = new ReadYourWrites(Duration.ofMinutes(1));
+        dataSource = new ReplicaDataSource(primary, List.of(replica1, replica2), readYourWrites,
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    void takeReplicasInTurn() throws SQLException {
+        when(replica1.getConnection()).thenReturn(replicaConnection1);
+        when(replica2.getConnection()).thenReturn(replicaConnection2);
+
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection1);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection2);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection1);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void skipFailedReplica() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLException("down"));
+        when(replica2.getConnection()).thenReturn(replicaConnection2);
+
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection2);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection2);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection2);
+        verify(replica1, times(1)).getConnection();
+    }
+
+    @Test
+    void usePrimaryWhenAllReplicasFail() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLException("down"));
+        when(replica2.getConnection()).thenThrow(new SQLException("down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        verify(replica1, times(1)).getConnection();
+        verify(replica2, times(1)).getConnection();
+    }
+
+    @Test
+    void readOwnWritesFromPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replicaConnection1);
+        DataSource writes = readYourWrites.trackWrites(primary);
+
+        RequestUser.runAs(1L, () -> {
+            try {
+                writes.getConnection();
+                assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        RequestUser.runAs(2L, () -> {
+            try {
+                assertThat(dataSource.getConnection()).isSameAs(replicaConnection1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    void doNotTrackWritesOutsideOfRequest() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replicaConnection1);
+
+        readYourWrites.trackWrites(primary).getConnection();
+
+        assertThat(readYourWrites.mustReadPrimary()).isFalse();
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection1);
+    }
+
+    @Test
+    void routeConnectionsWithCredentials() throws SQLException {
+        when(replica1.getConnection("user", "password")).thenReturn(replicaConnection1);
+
+        assertThat(dataSource.getConnection("user", "password")).isSameAs(replicaConnection1);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void readPrimaryOnRequest() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        Connection connection = ReadYourWrites.readPrimary(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(connection).isSameAs(primaryConnection);
+        assertThat(readYourWrites.mustReadPrimary()).isFalse();
+        verifyNoInteractions(replica1, replica2);
+    }
+}
@@ -0,0 +1,121 @@
+package shareit.app.util;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import shareit.app.item.Item;
+import shareit.app.item.ItemService;
+import shareit.app.item.dto.ItemDto;
+import shareit.app.item.dto.OwnerItemDto;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Две независимые встроенные базы вместо основной и реплики: строки, вставленные только в одну
+ * из них, показывают, куда ушёл запрос.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DirtiesContext
+public class ReplicaRoutingTest {
+
+    private static final long OWNER = 1L;
+    private static final long REPLICA_ITEM = 10L;
+    private static final long PRIMARY_ITEM = 20L;
+
+    private static EmbeddedPostgres primary;
+    private static EmbeddedPostgres replica;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+
+    @DynamicPropertySource
+    static void dataSources(DynamicPropertyRegistry registry) throws IOException {
+        primary = EmbeddedPostgres.start();
+        replica = EmbeddedPostgres.start();
+        Flyway.configure().dataSource(replica.getPostgresDatabase()).load().migrate();
+        registry.add("spring.datasource.url", () -> primary.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("shareit.datasource.replicas[0].url", () -> replica.getJdbcUrl("postgres", "postgres"));
+        registry.add("shareit.datasource.replicas[0].username", () -> "postgres");
+        registry.add("shareit.datasource.replicas[0].password", () -> "");
+    }
+
+    @BeforeEach
+    void setUp() {
+        primaryJdbc = new JdbcTemplate(primary.getPostgresDatabase());
+        replicaJdbc = new JdbcTemplate(replica.getPostgresDatabase());
+        for (JdbcTemplate jdbc : new JdbcTemplate[]{primaryJdbc, replicaJdbc}) {
+            jdbc.execute("DELETE FROM items");
+            jdbc.execute("DELETE FROM users");
+            entityManagerFactory.getCache().evictAll();
+            jdbc.update("INSERT INTO users (user_id, name, email) VALUES (?, 'owner', 'owner@mail.com')", OWNER);
+        }
+        replicaJdbc.update("INSERT INTO items (item_id, name, description, is_available, owner_id) " +
+                "VALUES (?, 'replica', 'replica', true, ?)", REPLICA_ITEM, OWNER);
+        primaryJdbc.update("INSERT INTO items (item_id, name, description, is_available, owner_id) " +
+                "VALUES (?, 'primary', 'primary', true, ?)", PRIMARY_ITEM, OWNER);
+    }
+
+    @Test
+    void readFromReplica() {
+        assertThat(itemService.getByOwner(OWNER, 0, 10))
+                .extracting(OwnerItemDto::getId)
+                .containsExactly(REPLICA_ITEM);
+    }
+
+    @Test
+    void writeToPrimary() {
+        itemService.update(PRIMARY_ITEM, OWNER, new ItemDto(null, "updated", null, null, null));
+
+        assertThat(primaryJdbc.queryForObject("SELECT name FROM items WHERE item_id = ?", String.class,
+                PRIMARY_ITEM)).isEqualTo("updated");
+    }
+
+    @Test
+    void readOwnWritesFromPrimary() {
+        RequestUser.runAs(OWNER, () -> {
+            itemService.update(PRIMARY_ITEM, OWNER, new ItemDto(null, "updated", null, null, null));
+
+            assertThat(itemService.getByOwner(OWNER, 0, 10))
+                    .extracting(OwnerItemDto::getName)
+                    .containsExactly("updated");
+        });
+        RequestUser.runAs(OWNER + 1, () ->
+                assertThat(itemService.getByOwner(OWNER, 0, 10))
+                        .extracting(OwnerItemDto::getId)
+                        .containsExactly(REPLICA_ITEM));
+    }
+
+    @Test
+    void checkNewUserOnPrimary() {
+        primaryJdbc.update("INSERT INTO users (user_id, name, email) VALUES (?, 'new', 'new@mail.com')", OWNER + 1);
+
+        assertThat(itemService.getByOwner(OWNER + 1, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void doNotCacheReplicaReads() {
+        assertThat(itemService.getById(OWNER, REPLICA_ITEM).getName()).isEqualTo("replica");
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, REPLICA_ITEM)).isFalse();
+    }
+}
@@ -0,0 +1,87 @@
+package shareit.app.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import shareit.app.booking.BookingController;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+public class RequestLogInterceptorTest {
+
+    private RequestLogProperties properties;
+    private RequestLogInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    public void setUp() throws NoSuchMethodException {
+        properties = new RequestLogProperties();
+        interceptor = new RequestLogInterceptor(properties);
+        request = new MockHttpServletRequest("GET", "/bookings");
+        response = new MockHttpServletResponse();
+        handler = new HandlerMethod(new BookingController(null, null), BookingController.class.getMethod(
+                "getByUserAndState", Long.class, String.class, Integer.class, Integer.class, String.class));
+    }
+
+    @Test
+    public void logSizeInsteadOfBody(CapturedOutput output) {
+        handle(List.of("first", "second"));
+
+        assertThat(output).contains("endpoint=BookingController.getByUserAndState method=GET uri=/bookings "
+                + "status=200 items=2 durationMs=");
+        assertThat(output).doesNotContain("first");
+    }
+
+    @Test
+    public void skipDisabledEndpoint(CapturedOutput output) {
+        properties.getEndpoints().put("BookingController.getByUserAndState", false);
+
+        handle(List.of());
+
+        assertThat(output).doesNotContain("endpoint=BookingController.getByUserAndState");
+    }
+
+    @Test
+    public void skipDisabledLog(CapturedOutput output) {
+        properties.setEnabled(false);
+
+        handle(List.of());
+
+        assertThat(output).doesNotContain("endpoint=BookingController.getByUserAndState");
+    }
+
+    @Test
+    public void sampleOnlySuccessfulRequests(CapturedOutput output) {
+        properties.setSampleRate(0);
+
+        handle(List.of());
+        assertThat(output).doesNotContain("status=200");
+
+        response.setStatus(404);
+        handle(List.of());
+        assertThat(output).contains("status=404");
+
+        response.setStatus(500);
+        handle(List.of());
+        assertThat(output).contains("status=500");
+    }
+
+    private void handle(Object body) {
+        interceptor.preHandle(request, response, handler);
+        interceptor.beforeBodyWrite(body, null, null, null,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(response));
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+}
@@ -0,0 +1,89 @@
+package shareit.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SnowflakeTest {
+
+    private static final long NOW = Instant.parse("2026-10-18T12:00:00Z").toEpochMilli();
+
+    @Test
+    public void encodeTimeAndNode() {
+        long id = new Snowflake(7, () -> NOW).next();
+
+        assertThat(Snowflake.getTime(id)).isEqualTo(Instant.ofEpochMilli(NOW));
+        assertThat(Snowflake.getNode(id)).isEqualTo(7);
+        assertThat(id).isPositive();
+    }
+
+    @Test
+    public void sortByTime() {
+        AtomicLong clock = new AtomicLong(NOW);
+        Snowflake snowflake = new Snowflake(1, clock::get);
+
+        long first = snowflake.next();
+        clock.addAndGet(1);
+        long second = snowflake.next();
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(new Snowflake(0, () -> NOW + 1).next()).isGreaterThan(first);
+    }
+
+    @Test
+    public void growWithinMillisecondAndAfterSequenceOverflow() {
+        Snowflake snowflake = new Snowflake(1, () -> NOW);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            ids.add(snowflake.next());
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(Snowflake.getTime(ids.get(ids.size() - 1))).isEqualTo(Instant.ofEpochMilli(NOW + 1));
+    }
+
+    @Test
+    public void growWhenClockGoesBack() {
+        AtomicLong clock = new AtomicLong(NOW);
+        Snowflake snowflake = new Snowflake(1, clock::get);
+
+        long first = snowflake.next();
+        clock.addAndGet(-1000);
+
+        assertThat(snowflake.next()).isGreaterThan(first);
+    }
+
+    @Test
+    public void uniqueAcrossThreads() {
+        Snowflake snowflake = new Snowflake(1, System::currentTimeMillis);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(snowflake.next()));
+
+        assertThat(ids).hasSize(100_000);
+    }
+
+    @Test
+    public void shareGeneratorOfNode() {
+        assertThat(Snowflake.forNode(3)).isSameAs(Snowflake.forNode(3));
+        assertThat(Snowflake.forNode(4)).isNotSameAs(Snowflake.forNode(3));
+    }
+
+    @Test
+    public void rejectNodeOutOfRange() {
+        assertThatThrownBy(() -> Snowflake.forNode(Snowflake.MAX_NODE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Snowflake.forNode(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}